@@ -0,0 +1,331 @@
+/**
+ * Copyright (c) 2008, SnakeYAML
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.mohistmc.snakeyaml;
+
+import com.mohistmc.snakeyaml.constructor.BaseConstructor;
+import com.mohistmc.snakeyaml.error.YAMLException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Publishes the documents of a YAML stream with bounded lookahead. The documents are constructed on
+ * the thread provided by the {@link Executor}; at most <code>prefetch</code> constructed documents
+ * wait in the buffer for the demand, the delivered ones are kept only by the subscriber. When the
+ * buffer is full and the subscriber has no outstanding demand the scanning is paused until more
+ * documents are requested.
+ * <p>
+ * Only a single subscriber is supported because the underlying stream can be read only once. Empty
+ * documents are skipped because a {@link Flow.Subscriber} must not receive <code>null</code>.
+ * </p>
+ */
+final class DocumentPublisher implements Flow.Publisher<Object> {
+
+    private final BaseConstructor constructor;
+    private final int prefetch;
+    private final Executor executor;
+    private final AtomicBoolean subscribed = new AtomicBoolean(false);
+
+    /**
+     * Create
+     *
+     * @param constructor - the constructor with the Composer already set
+     * @param prefetch - max amount of documents to parse ahead of the demand
+     * @param executor - runs the parsing task
+     */
+    DocumentPublisher(BaseConstructor constructor, int prefetch, Executor executor) {
+        if (prefetch < 1) {
+            throw new IllegalArgumentException("Prefetch must be positive: " + prefetch);
+        }
+        if (executor == null) {
+            throw new NullPointerException("Executor must be provided");
+        }
+        this.constructor = constructor;
+        this.prefetch = prefetch;
+        this.executor = executor;
+    }
+
+    /**
+     * Start a new daemon thread for every task
+     *
+     * @return the executor used when none is provided
+     */
+    static Executor defaultExecutor() {
+        return task -> {
+            Thread thread = new Thread(task, "YAML document publisher");
+            thread.setDaemon(true);
+            thread.start();
+        };
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Object> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("Subscriber must be provided");
+        }
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("Only one subscriber is supported"));
+            return;
+        }
+        DocumentSubscription subscription = new DocumentSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        executor.execute(subscription::drain);
+    }
+
+    /**
+     * Adapt the publisher to a blocking Iterator. The iterator requests a document only when the
+     * consumer asks for it, so the documents ahead of the consumer are only the ones in the buffer
+     * of the publisher (at most <code>prefetch</code>).
+     *
+     * @return iterator over the documents
+     */
+    BlockingIterator iterator() {
+        BlockingIterator iterator = new BlockingIterator();
+        subscribe(iterator);
+        return iterator;
+    }
+
+    private final class DocumentSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super Object> subscriber;
+        private final ArrayDeque<Object> buffer;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private long demand = 0;
+        private boolean cancelled = false;
+        private Throwable failure;
+
+        DocumentSubscription(Flow.Subscriber<? super Object> subscriber) {
+            this.subscriber = subscriber;
+            this.buffer = new ArrayDeque<>(prefetch);
+        }
+
+        @Override
+        public void request(long n) {
+            lock.lock();
+            try {
+                if (n <= 0) {
+                    failure = new IllegalArgumentException("Demand must be positive: " + n);
+                } else {
+                    demand += n;
+                    if (demand < 0) {
+                        // effectively unbounded
+                        demand = Long.MAX_VALUE;
+                    }
+                }
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            lock.lock();
+            try {
+                cancelled = true;
+                buffer.clear();
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Parse and deliver the documents. Only this task touches the constructor, the subscriber
+         * calls are serialized on the same thread. A failure of the parsing or the construction is
+         * signalled by onError, an exception thrown by onNext cancels the subscription (Reactive
+         * Streams rule 2.13) and nothing is signalled after it.
+         */
+        void drain() {
+            boolean exhausted = false;
+            try {
+                while (true) {
+                    Object document = null;
+                    boolean parse = false;
+                    Throwable error = null;
+                    lock.lock();
+                    try {
+                        while (true) {
+                            if (cancelled) {
+                                return;
+                            }
+                            if (failure != null) {
+                                cancelled = true;
+                                buffer.clear();
+                                error = failure;
+                                break;
+                            }
+                            if (demand > 0 && !buffer.isEmpty()) {
+                                if (demand != Long.MAX_VALUE) {
+                                    demand--;
+                                }
+                                document = buffer.poll();
+                                break;
+                            }
+                            if (buffer.isEmpty() && exhausted) {
+                                break;
+                            }
+                            if (!exhausted && buffer.size() < prefetch) {
+                                parse = true;
+                                break;
+                            }
+                            changed.await();
+                        }
+                    } finally {
+                        lock.unlock();
+                    }
+                    if (error != null) {
+                        subscriber.onError(error);
+                        return;
+                    } else if (document != null) {
+                        try {
+                            subscriber.onNext(document);
+                        } catch (Throwable e) {
+                            cancel();
+                            return;
+                        }
+                    } else if (parse) {
+                        Object data = null;
+                        try {
+                            if (constructor.checkData()) {
+                                data = constructor.getData();
+                            } else {
+                                exhausted = true;
+                            }
+                        } catch (Throwable e) {
+                            cancel();
+                            subscriber.onError(e);
+                            if (e instanceof Error fatal) {
+                                throw fatal;
+                            }
+                            return;
+                        }
+                        if (data != null) {
+                            lock.lock();
+                            try {
+                                if (!cancelled) {
+                                    buffer.add(data);
+                                }
+                            } finally {
+                                lock.unlock();
+                            }
+                        }
+                    } else {
+                        subscriber.onComplete();
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                subscriber.onError(e);
+            }
+        }
+    }
+
+    /**
+     * Subscriber which hands the documents over to the consuming thread. At most one document is
+     * requested at a time, the queue holds it and the terminal signal.
+     */
+    final class BlockingIterator implements Flow.Subscriber<Object>, Iterator<Object> {
+
+        private static final Object COMPLETE = new Object();
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(2);
+        private Flow.Subscription subscription;
+        private Object next;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Object item) {
+            queue.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            queue.add(new Failure(throwable));
+        }
+
+        @Override
+        public void onComplete() {
+            queue.add(COMPLETE);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                if (queue.isEmpty()) {
+                    subscription.request(1);
+                }
+                try {
+                    next = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new YAMLException(e);
+                }
+            }
+            if (next instanceof Failure failure) {
+                Throwable cause = failure.cause();
+                if (cause instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw new YAMLException(cause);
+            }
+            return next != COMPLETE;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No document is available.");
+            }
+            Object result = next;
+            next = null;
+            return result;
+        }
+
+        /**
+         * Stop parsing the rest of the stream
+         */
+        void cancel() {
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+
+    private record Failure(Throwable cause) {
+
+    }
+}
@@ -58,6 +58,17 @@ public class LoaderOptions {
     @Setter
     private int maxAliasesForCollections = 50; // to prevent YAML at
 
+    /**
+     * -- SETTER --
+     *  Restrict the size of a document with all its aliases expanded, counted in nodes. An alias
+     *  counts as the whole subtree of its anchored node, so the limit bounds the memory and the time
+     *  needed to copy the loaded data even when the amount of aliases is not restricted.
+     *
+     * @param maxExpandedNodes set max allowed value (not restricted by default)
+     */
+    @Setter
+    private long maxExpandedNodes = Long.MAX_VALUE;
+
     /**
      * -- SETTER --
      *  Allow recursive keys for mappings. By default, it is not allowed. This setting only prevents
@@ -109,6 +120,48 @@ public class LoaderOptions {
     @Getter
     private TagInspector tagInspector = new UnTrustedTagInspector();
 
+    /**
+     * -- SETTER --
+     *  Keep the composed documents in the compact array based node tree. The nodes are created on
+     *  demand when the constructor walks the tree. It reduces the memory of large documents. The end
+     *  marks of the nodes are not available.
+     *
+     * @param compactNodes - true to use {@link com.mohistmc.snakeyaml.composer.CompactComposer}
+     */
+    @Setter
+    private boolean compactNodes = false;
+
+    /**
+     * -- SETTER --
+     *  Compose the documents without recursion. The open collections are kept in an explicit stack,
+     *  so a high nesting depth limit does not risk a StackOverflowError while composing. It is not
+     *  used together with the compact node tree.
+     *
+     * @param iterativeComposer - true to use {@link com.mohistmc.snakeyaml.composer.IterativeComposer}
+     */
+    @Setter
+    private boolean iterativeComposer = false;
+
+    /**
+     * -- SETTER --
+     *  Resolve the implicit types of the plain scalars by the YAML 1.2 Core schema instead of YAML
+     *  1.1 (yes/no/on/off, base 60 numbers and timestamps are strings). It is used when the Yaml
+     *  instance is created without a Resolver.
+     *
+     * @param coreSchema - true to use {@link com.mohistmc.snakeyaml.resolver.CoreResolver}
+     */
+    @Setter
+    private boolean coreSchema = false;
+
+    /**
+     * -- SETTER --
+     *  The class of the values of the timestamps (Tag.TIMESTAMP)
+     *
+     * @param timestampType - DATE (the default), INSTANT or OFFSET_DATE_TIME
+     */
+    @Setter
+    private TimestampType timestampType = TimestampType.DATE;
+
     /**
      * getter
      *
@@ -118,6 +171,15 @@ public class LoaderOptions {
         return allowDuplicateKeys;
     }
 
+    /**
+     * getter
+     *
+     * @return max allowed expanded size of a document
+     */
+    public final long getMaxExpandedNodes() {
+        return maxExpandedNodes;
+    }
+
     /**
      * getter
      *
@@ -192,4 +254,58 @@ public class LoaderOptions {
         return codePointLimit;
     }
 
+    /**
+     * getter
+     *
+     * @return true when the documents are composed into the compact node tree
+     */
+    public final boolean isCompactNodes() {
+        return compactNodes;
+    }
+
+    /**
+     * getter
+     *
+     * @return true when the documents are composed without recursion
+     */
+    public final boolean isIterativeComposer() {
+        return iterativeComposer;
+    }
+
+    /**
+     * getter
+     *
+     * @return true when the plain scalars are resolved by the YAML 1.2 Core schema
+     */
+    public final boolean isCoreSchema() {
+        return coreSchema;
+    }
+
+    /**
+     * getter
+     *
+     * @return the class of the values of the timestamps
+     */
+    public final TimestampType getTimestampType() {
+        return timestampType;
+    }
+
+    /**
+     * The class of the values of the timestamps
+     */
+    public enum TimestampType {
+        /**
+         * java.util.Date
+         */
+        DATE,
+        /**
+         * java.time.Instant
+         */
+        INSTANT,
+        /**
+         * java.time.OffsetDateTime, with the offset of the timestamp
+         */
+        OFFSET_DATE_TIME
+    }
+
 }
@@ -14,25 +14,39 @@
 package com.mohistmc.snakeyaml;
 
 import com.mohistmc.snakeyaml.DumperOptions.FlowStyle;
+import com.mohistmc.snakeyaml.composer.CompactComposer;
 import com.mohistmc.snakeyaml.composer.Composer;
+import com.mohistmc.snakeyaml.composer.IterativeComposer;
 import com.mohistmc.snakeyaml.constructor.BaseConstructor;
 import com.mohistmc.snakeyaml.constructor.Constructor;
 import com.mohistmc.snakeyaml.emitter.Emitable;
 import com.mohistmc.snakeyaml.emitter.Emitter;
 import com.mohistmc.snakeyaml.error.YAMLException;
+import com.mohistmc.snakeyaml.eventlog.EventLogReader;
+import com.mohistmc.snakeyaml.eventlog.EventLogWriter;
+import com.mohistmc.snakeyaml.events.CollectionStartEvent;
+import com.mohistmc.snakeyaml.events.CommentEvent;
+import com.mohistmc.snakeyaml.events.DocumentEndEvent;
+import com.mohistmc.snakeyaml.events.DocumentStartEvent;
 import com.mohistmc.snakeyaml.events.Event;
+import com.mohistmc.snakeyaml.events.MappingStartEvent;
+import com.mohistmc.snakeyaml.events.SequenceStartEvent;
 import com.mohistmc.snakeyaml.introspector.BeanAccess;
 import com.mohistmc.snakeyaml.nodes.Node;
 import com.mohistmc.snakeyaml.nodes.Tag;
+import com.mohistmc.snakeyaml.parser.EventFilter;
+import com.mohistmc.snakeyaml.parser.FilteringParser;
 import com.mohistmc.snakeyaml.parser.Parser;
 import com.mohistmc.snakeyaml.parser.ParserImpl;
 import com.mohistmc.snakeyaml.reader.StreamReader;
 import com.mohistmc.snakeyaml.reader.UnicodeReader;
 import com.mohistmc.snakeyaml.representer.Representer;
+import com.mohistmc.snakeyaml.resolver.CoreResolver;
 import com.mohistmc.snakeyaml.resolver.Resolver;
 import com.mohistmc.snakeyaml.serializer.Serializer;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
@@ -41,7 +55,13 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -57,6 +77,7 @@ public class Yaml {
     protected Representer representer;
     protected DumperOptions dumperOptions;
     protected LoaderOptions loadingConfig;
+    private final List<EventFilter> eventFilters = new ArrayList<>();
     /**
      * -- GETTER --
      *  Get a meaningful name. It simplifies debugging in a multi-threaded environment. If nothing is
@@ -146,7 +167,8 @@ public class Yaml {
      * @param dumperOptions DumperOptions to configure outgoing objects
      */
     public Yaml(BaseConstructor constructor, Representer representer, DumperOptions dumperOptions) {
-        this(constructor, representer, dumperOptions, constructor.getLoadingConfig(), new Resolver());
+        this(constructor, representer, dumperOptions, constructor.getLoadingConfig(),
+                createResolver(constructor.getLoadingConfig()));
     }
 
     /**
@@ -159,7 +181,7 @@ public class Yaml {
      */
     public Yaml(BaseConstructor constructor, Representer representer, DumperOptions dumperOptions,
                 LoaderOptions loadingConfig) {
-        this(constructor, representer, dumperOptions, loadingConfig, new Resolver());
+        this(constructor, representer, dumperOptions, loadingConfig, createResolver(loadingConfig));
     }
 
     /**
@@ -225,6 +247,10 @@ public class Yaml {
         this.name = "Yaml:" + System.identityHashCode(this);
     }
 
+    private static Resolver createResolver(LoaderOptions loadingConfig) {
+        return loadingConfig.isCoreSchema() ? new CoreResolver() : new Resolver();
+    }
+
     private static DumperOptions initDumperOptions(Representer representer) {
         DumperOptions dumperOptions = new DumperOptions();
         dumperOptions.setDefaultFlowStyle(representer.getDefaultFlowStyle());
@@ -391,6 +417,55 @@ public class Yaml {
         }
     }
 
+    /**
+     * Re-format a YAML stream without building the representation tree. The parsing events are
+     * passed directly to the Emitter, so the memory does not depend on the size of the stream. The
+     * registered event filters are applied. The DumperOptions define the output format; in addition
+     * the flow style of the collections is replaced when the default flow style is not AUTO, and the
+     * explicit document start/end markers are added when they are requested. The comments are kept
+     * only when both the LoaderOptions and the DumperOptions process them.
+     *
+     * @param input YAML stream to read (BOM must not be present)
+     * @param output stream to write to
+     * @param options the format of the output
+     */
+    public void transcode(Reader input, Writer output, DumperOptions options) {
+        if (!options.getIndentWithIndicator() && options.getIndent() <= options.getIndicatorIndent()) {
+            throw new YAMLException("Indicator indent must be smaller then indent.");
+        }
+        Parser parser = createParser(new StreamReader(input));
+        Emitter emitter = new Emitter(output, options);
+        FlowStyle flowStyle = options.getDefaultFlowStyle();
+        try {
+            Event event;
+            while ((event = parser.getEvent()) != null) {
+                if (event instanceof CommentEvent && !options.isProcessComments()) {
+                    continue;
+                }
+                if (flowStyle != FlowStyle.AUTO && event instanceof CollectionStartEvent start
+                        && start.getFlowStyle() != flowStyle) {
+                    if (start instanceof MappingStartEvent) {
+                        event = new MappingStartEvent(start.getAnchor(), start.getTag(), start.getImplicit(),
+                                start.getStartMark(), start.getEndMark(), flowStyle);
+                    } else {
+                        event = new SequenceStartEvent(start.getAnchor(), start.getTag(), start.getImplicit(),
+                                start.getStartMark(), start.getEndMark(), flowStyle);
+                    }
+                } else if (event instanceof DocumentStartEvent start && options.isExplicitStart()
+                        && !start.getExplicit()) {
+                    event = new DocumentStartEvent(start.getStartMark(), start.getEndMark(), true,
+                            start.getVersion(), start.getTags());
+                } else if (event instanceof DocumentEndEvent end && options.isExplicitEnd()
+                        && !end.getExplicit()) {
+                    event = new DocumentEndEvent(end.getStartMark(), end.getEndMark(), true);
+                }
+                emitter.emit(event);
+            }
+        } catch (IOException e) {
+            throw new YAMLException(e);
+        }
+    }
+
     /**
      * Serialize the representation tree into Events.
      *
@@ -489,8 +564,11 @@ public class Yaml {
     }
 
     private Object loadFromReader(StreamReader sreader, Class<?> type) {
-        Composer composer =
-                new Composer(new ParserImpl(sreader, loadingConfig), resolver, loadingConfig);
+        return loadFromParser(createParser(sreader), type);
+    }
+
+    private Object loadFromParser(Parser parser, Class<?> type) {
+        Composer composer = createComposer(parser);
         constructor.setComposer(composer);
         return constructor.getSingleData(type);
     }
@@ -503,8 +581,11 @@ public class Yaml {
      * @return an Iterable over the parsed Java objects in this String in proper sequence
      */
     public Iterable<Object> loadAll(Reader yaml) {
-        Composer composer = new Composer(new ParserImpl(new StreamReader(yaml), loadingConfig),
-                resolver, loadingConfig);
+        return loadAllFromParser(createParser(new StreamReader(yaml)));
+    }
+
+    private Iterable<Object> loadAllFromParser(Parser parser) {
+        Composer composer = createComposer(parser);
         constructor.setComposer(composer);
         Iterator<Object> result = new Iterator<>() {
             @Override
@@ -549,6 +630,128 @@ public class Yaml {
         return loadAll(new UnicodeReader(yaml));
     }
 
+    /**
+     * Parse all YAML documents in the Reader and publish the corresponding Java objects. The
+     * documents are parsed on a separate daemon thread ahead of the demand, but never more than
+     * <code>prefetch</code> documents are kept in memory. When the buffer is full the scanning is
+     * paused until the subscriber requests more documents. Empty documents are skipped. This Yaml
+     * instance must not be used by other threads until the publisher completes.
+     *
+     * @param yaml YAML data to load from (BOM must not be present)
+     * @param prefetch max amount of documents to parse ahead of the demand
+     * @return a Publisher for a single Subscriber
+     */
+    public Flow.Publisher<Object> loadAllPublisher(Reader yaml, int prefetch) {
+        return loadAllPublisher(yaml, prefetch, DocumentPublisher.defaultExecutor());
+    }
+
+    /**
+     * Parse all YAML documents in a stream and publish the corresponding Java objects. See
+     * {@link #loadAllPublisher(Reader, int)}
+     *
+     * @param yaml YAML data to load from (BOM is respected to detect encoding and removed from the
+     *        data)
+     * @param prefetch max amount of documents to parse ahead of the demand
+     * @return a Publisher for a single Subscriber
+     */
+    public Flow.Publisher<Object> loadAllPublisher(InputStream yaml, int prefetch) {
+        return loadAllPublisher(new UnicodeReader(yaml), prefetch);
+    }
+
+    /**
+     * Parse all YAML documents in the Reader and publish the corresponding Java objects. See
+     * {@link #loadAllPublisher(Reader, int)}
+     *
+     * @param yaml YAML data to load from (BOM must not be present)
+     * @param prefetch max amount of documents to parse ahead of the demand
+     * @param executor runs the parsing when the Publisher is subscribed (the task is blocked while
+     *        there is no demand and the buffer is full, so a bounded pool should not be used)
+     * @return a Publisher for a single Subscriber
+     */
+    public Flow.Publisher<Object> loadAllPublisher(Reader yaml, int prefetch, Executor executor) {
+        Composer composer = createComposer(createParser(new StreamReader(yaml)));
+        constructor.setComposer(composer);
+        return new DocumentPublisher(constructor, prefetch, executor);
+    }
+
+    /**
+     * Parse all YAML documents in the Reader and produce a Stream of the corresponding Java objects.
+     * The documents are parsed on a separate daemon thread with at most <code>prefetch</code>
+     * documents ahead of the consumer. Closing the Stream stops the parsing. Empty documents are
+     * skipped.
+     *
+     * @param yaml YAML data to load from (BOM must not be present)
+     * @param prefetch max amount of documents to parse ahead of the consumer
+     * @return a sequential Stream over the parsed Java objects
+     */
+    public Stream<Object> loadAllStream(Reader yaml, int prefetch) {
+        DocumentPublisher publisher = (DocumentPublisher) loadAllPublisher(yaml, prefetch);
+        DocumentPublisher.BlockingIterator iterator = publisher.iterator();
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(iterator::cancel);
+    }
+
+    /**
+     * Parse a YAML stream and write its events in the compact binary format. The event log can be
+     * loaded later with {@link #loadEventLog(InputStream)} without scanning the text again. The
+     * registered event filters are applied before the events are written.
+     *
+     * @param yaml YAML document(s) (BOM must not be present)
+     * @param output stream to write to, it is flushed but not closed
+     * @param includeMarks true to keep the positions in the source for error messages
+     */
+    public void writeEventLog(Reader yaml, OutputStream output, boolean includeMarks) {
+        Parser parser = createParser(new StreamReader(yaml));
+        try {
+            EventLogWriter writer = new EventLogWriter(output, includeMarks);
+            Event event;
+            while ((event = parser.getEvent()) != null) {
+                writer.emit(event);
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new YAMLException(e);
+        }
+    }
+
+    /**
+     * Load the only document from an event log created by
+     * {@link #writeEventLog(Reader, OutputStream, boolean)}. The event filters are not applied again.
+     *
+     * @param eventLog the binary event log
+     * @param <T> the class of the instance to be created
+     * @return parsed object
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T loadEventLog(InputStream eventLog) {
+        return (T) loadFromParser(new EventLogReader(eventLog), Object.class);
+    }
+
+    /**
+     * Load all the documents from an event log created by
+     * {@link #writeEventLog(Reader, OutputStream, boolean)}. The documents are constructed only when
+     * the iterator is invoked.
+     *
+     * @param eventLog the binary event log
+     * @return an Iterable over the constructed Java objects in proper sequence
+     */
+    public Iterable<Object> loadAllEventLog(InputStream eventLog) {
+        return loadAllFromParser(new EventLogReader(eventLog));
+    }
+
+    /**
+     * Produce the representation tree of the only document in an event log created by
+     * {@link #writeEventLog(Reader, OutputStream, boolean)}.
+     *
+     * @param eventLog the binary event log
+     * @return root Node of the document
+     */
+    public Node composeEventLog(InputStream eventLog) {
+        Composer composer = createComposer(new EventLogReader(eventLog));
+        return composer.getSingleNode();
+    }
+
     /**
      * Parse the first YAML document in a stream and produce the corresponding representation tree.
      * (This is the opposite of the represent() method)
@@ -558,8 +761,7 @@ public class Yaml {
      * @see <a href="http://yaml.org/spec/1.1/#id859333">Figure 3.1. Processing Overview</a>
      */
     public Node compose(Reader yaml) {
-        Composer composer = new Composer(new ParserImpl(new StreamReader(yaml), loadingConfig),
-                resolver, loadingConfig);
+        Composer composer = createComposer(createParser(new StreamReader(yaml)));
         return composer.getSingleNode();
     }
 
@@ -571,8 +773,7 @@ public class Yaml {
      * @see <a href="http://yaml.org/spec/1.1/#id859333">Processing Overview</a>
      */
     public Iterable<Node> composeAll(Reader yaml) {
-        final Composer composer = new Composer(new ParserImpl(new StreamReader(yaml), loadingConfig),
-                resolver, loadingConfig);
+        final Composer composer = createComposer(createParser(new StreamReader(yaml)));
         Iterator<Node> result = new Iterator<>() {
             @Override
             public boolean hasNext() {
@@ -622,6 +823,38 @@ public class Yaml {
         resolver.addImplicitResolver(tag, regexp, first, limit);
     }
 
+    /**
+     * Add a filter for the parsed events. The filters are applied in the order they are added,
+     * between the Parser and the Composer, to every document which is loaded, composed or parsed by
+     * this instance.
+     *
+     * @param filter the transformation to apply to the events
+     */
+    public void addEventFilter(EventFilter filter) {
+        if (filter == null) {
+            throw new NullPointerException("EventFilter must be provided");
+        }
+        eventFilters.add(filter);
+    }
+
+    private Composer createComposer(Parser parser) {
+        if (loadingConfig.isCompactNodes()) {
+            return new CompactComposer(parser, resolver, loadingConfig);
+        }
+        if (loadingConfig.isIterativeComposer()) {
+            return new IterativeComposer(parser, resolver, loadingConfig);
+        }
+        return new Composer(parser, resolver, loadingConfig);
+    }
+
+    private Parser createParser(StreamReader reader) {
+        Parser parser = new ParserImpl(reader, loadingConfig);
+        for (EventFilter filter : eventFilters) {
+            parser = new FilteringParser(parser, filter);
+        }
+        return parser;
+    }
+
     @Override
     public String toString() {
         return name;
@@ -635,7 +868,7 @@ public class Yaml {
      * @see <a href="http://yaml.org/spec/1.1/#id859333">Processing Overview</a>
      */
     public Iterable<Event> parse(Reader yaml) {
-        final Parser parser = new ParserImpl(new StreamReader(yaml), loadingConfig);
+        final Parser parser = createParser(new StreamReader(yaml));
         Iterator<Event> result = new Iterator<>() {
             @Override
             public boolean hasNext() {
@@ -18,6 +18,7 @@ import com.mohistmc.snakeyaml.events.Event;
 import com.mohistmc.snakeyaml.parser.Parser;
 import java.util.AbstractQueue;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Queue;
@@ -159,6 +160,10 @@ public class CommentEventsCollector {
      * @return the events collected.
      */
     public List<CommentLine> consume() {
+        if (commentLineList.isEmpty()) {
+            // nothing was collected, keep the list and do not allocate a new one
+            return Collections.emptyList();
+        }
         try {
             return commentLineList;
         } finally {
@@ -0,0 +1,279 @@
+/**
+ * Copyright (c) 2008, SnakeYAML
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.mohistmc.snakeyaml.composer;
+
+import com.mohistmc.snakeyaml.DumperOptions.FlowStyle;
+import com.mohistmc.snakeyaml.LoaderOptions;
+import com.mohistmc.snakeyaml.comments.CommentLine;
+import com.mohistmc.snakeyaml.error.Mark;
+import com.mohistmc.snakeyaml.error.YAMLException;
+import com.mohistmc.snakeyaml.events.AliasEvent;
+import com.mohistmc.snakeyaml.events.CollectionStartEvent;
+import com.mohistmc.snakeyaml.events.Event;
+import com.mohistmc.snakeyaml.events.NodeEvent;
+import com.mohistmc.snakeyaml.events.ScalarEvent;
+import com.mohistmc.snakeyaml.nodes.Node;
+import com.mohistmc.snakeyaml.nodes.NodeId;
+import com.mohistmc.snakeyaml.nodes.Tag;
+import com.mohistmc.snakeyaml.parser.Parser;
+import com.mohistmc.snakeyaml.resolver.ResolvedScalar;
+import com.mohistmc.snakeyaml.resolver.Resolver;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Composer which stores every document in a {@link CompactNodeTree}. The nodes returned by
+ * {@link #getNode()} are the views of the tree, the rest of the document is materialized only when
+ * it is accessed. The composed structure (tags, anchors, aliases, comments) is the same as the one
+ * created by {@link Composer}; only the end marks are not kept and the start marks have no snippet.
+ */
+public class CompactComposer extends Composer {
+
+    private final Resolver resolver;
+    private final LoaderOptions loadingConfig;
+    private final Map<String, Integer> anchors = new HashMap<>();
+    // the expanded sizes of the anchored nodes
+    private final Map<Integer, Long> anchoredSizes = new HashMap<>();
+    // the nodes which are being composed (for recursive aliases)
+    private final BitSet open = new BitSet();
+    // the children of the open collections
+    private int[] pending = new int[64];
+    private int pendingSize = 0;
+    private int nonScalarAliasesCount = 0;
+    private CompactNodeTree tree;
+
+    /**
+     * Create
+     *
+     * @param parser - the parser
+     * @param resolver - the resolver
+     * @param loadingConfig - options
+     */
+    public CompactComposer(Parser parser, Resolver resolver, LoaderOptions loadingConfig) {
+        super(parser, resolver, loadingConfig);
+        this.resolver = resolver;
+        this.loadingConfig = loadingConfig;
+    }
+
+    @Override
+    public Node getNode() {
+        return getTree().getRoot();
+    }
+
+    /**
+     * Reads and composes the next document.
+     *
+     * @return the tree of the document
+     */
+    public CompactNodeTree getTree() {
+        collectBlockComments();
+        if (parser.checkEvent(Event.ID.StreamEnd)) {
+            List<CommentLine> commentLines = consumeBlockComments();
+            Mark startMark = commentLines.get(0).getStartMark();
+            tree = new CompactNodeTree(startMark != null ? startMark.getName() : null);
+            int id = tree.addNode(NodeId.mapping, Tag.COMMENT, false, null, FlowStyle.BLOCK.ordinal(),
+                    startMark);
+            tree.setChildren(id, pending, 0, 0);
+            tree.setBlockComments(id, commentLines);
+            return complete();
+        }
+        // Drop the DOCUMENT-START event.
+        Event start = parser.getEvent();
+        expansion.reset();
+        Mark startMark = start.getStartMark();
+        tree = new CompactNodeTree(startMark != null ? startMark.getName() : null);
+        int root = compose();
+        // Drop the DOCUMENT-END event.
+        collectBlockComments();
+        tree.setEndComments(root, consumeBlockComments());
+        parser.getEvent();
+        anchors.clear();
+        open.clear();
+        anchoredSizes.clear();
+        return complete();
+    }
+
+    private CompactNodeTree complete() {
+        CompactNodeTree result = tree;
+        result.trim();
+        tree = null;
+        return result;
+    }
+
+    private int compose() {
+        collectBlockComments();
+        if (parser.checkEvent(Event.ID.Alias)) {
+            AliasEvent event = (AliasEvent) parser.getEvent();
+            String anchor = event.getAnchor();
+            Integer id = anchors.get(anchor);
+            if (id == null) {
+                throw new ComposerException(null, null, "found undefined alias " + anchor,
+                        event.getStartMark());
+            }
+            if (tree.getNodeId(id) != NodeId.scalar) {
+                this.nonScalarAliasesCount++;
+                if (this.nonScalarAliasesCount > loadingConfig.getMaxAliasesForCollections()) {
+                    throw new YAMLException(
+                            "Number of aliases for non-scalar nodes exceeds the specified max="
+                                    + loadingConfig.getMaxAliasesForCollections());
+                }
+            }
+            // a recursive alias is counted as a single node
+            Long size = anchoredSizes.get(id);
+            expansion.add(size != null ? size : 1);
+            tree.setFlag(id, CompactNodeTree.SHARED);
+            if (open.get(id)) {
+                tree.setFlag(id, CompactNodeTree.RECURSIVE);
+            }
+            dropComments();
+            return id;
+        }
+        NodeEvent event = (NodeEvent) parser.peekEvent();
+        String anchor = event.getAnchor();
+        increaseNestingDepth();
+        long start = expansion.size();
+        expansion.add(1);
+        int id;
+        if (parser.checkEvent(Event.ID.Scalar)) {
+            id = composeScalar(anchor, consumeBlockComments());
+        } else {
+            id = composeCollection(anchor);
+        }
+        if (anchor != null) {
+            anchoredSizes.put(id, expansion.size() - start);
+        }
+        decreaseNestingDepth();
+        return id;
+    }
+
+    private int composeScalar(String anchor, List<CommentLine> blockComments) {
+        ScalarEvent ev = (ScalarEvent) parser.getEvent();
+        String tag = ev.getTag();
+        boolean resolved = false;
+        Tag nodeTag;
+        Number number = null;
+        if (tag == null || tag.equals("!")) {
+            ResolvedScalar resolvedScalar = resolver.resolveScalar(ev.getValue(),
+                    ev.getImplicit().canOmitTagInPlainScalar());
+            nodeTag = resolvedScalar.tag();
+            number = resolvedScalar.number();
+            resolved = true;
+        } else {
+            nodeTag = explicitTag(tag, ev.getStartMark());
+        }
+        int id = tree.addNode(NodeId.scalar, nodeTag, resolved, ev.getValue(),
+                ev.getScalarStyle().ordinal(), ev.getStartMark());
+        if (number != null) {
+            tree.setNumber(id, number);
+        }
+        if (anchor != null) {
+            tree.setAnchor(id, anchor);
+            anchors.put(anchor, id);
+        }
+        tree.setBlockComments(id, blockComments);
+        tree.setInLineComments(id, consumeInLineComments());
+        return id;
+    }
+
+    private int composeCollection(String anchor) {
+        CollectionStartEvent startEvent = (CollectionStartEvent) parser.getEvent();
+        boolean mapping = startEvent.is(Event.ID.MappingStart);
+        NodeId kind = mapping ? NodeId.mapping : NodeId.sequence;
+        Event.ID endId = mapping ? Event.ID.MappingEnd : Event.ID.SequenceEnd;
+        String tag = startEvent.getTag();
+        Tag nodeTag;
+        boolean resolved = false;
+        if (tag == null || tag.equals("!")) {
+            nodeTag = resolver.resolve(kind, null, startEvent.getImplicit());
+            resolved = true;
+        } else {
+            nodeTag = explicitTag(tag, startEvent.getStartMark());
+        }
+        int id = tree.addNode(kind, nodeTag, resolved, null, startEvent.getFlowStyle().ordinal(),
+                startEvent.getStartMark());
+        if (startEvent.isFlow()) {
+            tree.setBlockComments(id, consumeBlockComments());
+        }
+        if (anchor != null) {
+            tree.setAnchor(id, anchor);
+            anchors.put(anchor, id);
+        }
+        open.set(id);
+        int from = pendingSize;
+        while (!parser.checkEvent(endId)) {
+            collectBlockComments();
+            if (parser.checkEvent(endId)) {
+                break;
+            }
+            if (mapping) {
+                int key = compose();
+                if (tree.getTag(key).equals(Tag.MERGE)) {
+                    tree.setFlag(id, CompactNodeTree.MERGED);
+                }
+                push(key);
+            }
+            push(compose());
+        }
+        open.clear(id);
+        if (mapping && !loadingConfig.isAllowDuplicateKeys()) {
+            checkDuplicateKeys(id, from);
+        }
+        tree.setChildren(id, pending, from, pendingSize - from);
+        tree.updateStructuralHash(id);
+        pendingSize = from;
+        if (startEvent.isFlow()) {
+            tree.setInLineComments(id, consumeInLineComments());
+        }
+        parser.getEvent();
+        tree.setInLineComments(id, consumeInLineComments());
+        return id;
+    }
+
+    private void checkDuplicateKeys(int mapping, int from) {
+        int[] ids = pending;
+        int size = (pendingSize - from) / 2;
+        DuplicateKeyIndex.check(tree.startMark(mapping), new DuplicateKeyIndex.Keys() {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public Tag tag(int index) {
+                int key = ids[from + index * 2];
+                return tree.getNodeId(key) == NodeId.scalar ? tree.getTag(key) : null;
+            }
+
+            @Override
+            public String value(int index) {
+                return tree.getScalarValue(ids[from + index * 2]);
+            }
+
+            @Override
+            public Mark mark(int index) {
+                return tree.startMark(ids[from + index * 2]);
+            }
+        });
+    }
+
+    private void push(int id) {
+        if (pendingSize == pending.length) {
+            pending = Arrays.copyOf(pending, pendingSize * 2);
+        }
+        pending[pendingSize++] = id;
+    }
+}
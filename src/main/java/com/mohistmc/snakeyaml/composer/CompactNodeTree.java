@@ -0,0 +1,501 @@
+/**
+ * Copyright (c) 2008, SnakeYAML
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.mohistmc.snakeyaml.composer;
+
+import com.mohistmc.snakeyaml.DumperOptions;
+import com.mohistmc.snakeyaml.comments.CommentLine;
+import com.mohistmc.snakeyaml.error.Mark;
+import com.mohistmc.snakeyaml.nodes.CollectionNode;
+import com.mohistmc.snakeyaml.nodes.MappingNode;
+import com.mohistmc.snakeyaml.nodes.Node;
+import com.mohistmc.snakeyaml.nodes.NodeId;
+import com.mohistmc.snakeyaml.nodes.NodeTuple;
+import com.mohistmc.snakeyaml.nodes.ParsedScalarNode;
+import com.mohistmc.snakeyaml.nodes.ScalarNode;
+import com.mohistmc.snakeyaml.nodes.SequenceNode;
+import com.mohistmc.snakeyaml.nodes.StructuralHash;
+import com.mohistmc.snakeyaml.nodes.Tag;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Node tree of a single document stored as parallel arrays instead of {@link Node} objects. Every
+ * node is identified by an int (the root is 0, the ids follow the document order). The children of
+ * a collection are a contiguous range of the children array; a mapping keeps the key and the value
+ * of every entry next to each other. An alias is stored as one more reference to the id of the
+ * anchored node. The comments, the anchors and the views are kept in side tables which are
+ * allocated only when they are needed.
+ * <p>
+ * {@link #getRoot()} returns a regular {@link Node} which creates the views of its children on
+ * demand, so the tree can be given to the constructors. The views of a node referenced by aliases
+ * are cached to keep the identity of the shared node. The other views are kept only by the value
+ * of their parent view, so the identity of a node is stable when it is reached from the root, but
+ * not between the calls of {@link #view(int)}.
+ * </p>
+ */
+public final class CompactNodeTree {
+
+    private static final DumperOptions.ScalarStyle[] SCALAR_STYLES = DumperOptions.ScalarStyle.values();
+    private static final DumperOptions.FlowStyle[] FLOW_STYLES = DumperOptions.FlowStyle.values();
+    private static final NodeId[] NODE_IDS = NodeId.values();
+    private static final int[] NO_BUFFER = new int[0];
+
+    static final byte RESOLVED = 1;
+    static final byte MERGED = 2;
+    static final byte RECURSIVE = 4;
+    static final byte SHARED = 8;
+
+    private final String sourceName;
+    private int size = 0;
+    // per node
+    private byte[] kinds = new byte[16];
+    private byte[] styles = new byte[16];
+    private byte[] flags = new byte[16];
+    private int[] tags = new int[16];
+    private String[] values = new String[16];
+    private int[] firstChild = new int[16];
+    private int[] childCount = new int[16];
+    private int[] lines = new int[16];
+    private int[] columns = new int[16];
+    // the structural hashes of the collections, 0 when it is not known
+    private long[] hashes = new long[16];
+    // the ids of the children of all the collections
+    private int[] children = new int[16];
+    private int childrenSize = 0;
+    private final List<Tag> tagTable = new ArrayList<>();
+    private final Map<String, Integer> tagIndex = new HashMap<>();
+    private Map<Integer, String> anchors;
+    private Map<Integer, Number> numbers;
+    private Map<Integer, List<CommentLine>> blockComments;
+    private Map<Integer, List<CommentLine>> inLineComments;
+    private Map<Integer, List<CommentLine>> endComments;
+    private Map<Integer, Node> sharedViews;
+    private Node root;
+
+    /**
+     * Create
+     *
+     * @param sourceName - the name of the source for the marks of the views
+     */
+    CompactNodeTree(String sourceName) {
+        this.sourceName = sourceName;
+    }
+
+    /**
+     * Get the amount of nodes. An alias does not create a node.
+     *
+     * @return the amount of nodes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the kind of the node
+     *
+     * @param id - the node
+     * @return scalar, sequence or mapping
+     */
+    public NodeId getNodeId(int id) {
+        return NODE_IDS[kinds[check(id)]];
+    }
+
+    /**
+     * Get the tag of the node
+     *
+     * @param id - the node
+     * @return its tag
+     */
+    public Tag getTag(int id) {
+        return tagTable.get(tags[check(id)]);
+    }
+
+    /**
+     * Get the value of a scalar
+     *
+     * @param id - the node
+     * @return the value or <code>null</code> if the node is a collection
+     */
+    public String getScalarValue(int id) {
+        return values[check(id)];
+    }
+
+    /**
+     * Get the amount of the children. For a mapping it is twice the amount of the entries.
+     *
+     * @param id - the node
+     * @return the amount of the child nodes (0 for a scalar)
+     */
+    public int getChildCount(int id) {
+        return childCount[check(id)];
+    }
+
+    /**
+     * Get a child of a collection. For a mapping the key of the entry <code>i</code> has the
+     * index <code>2 * i</code> and its value <code>2 * i + 1</code>.
+     *
+     * @param id - the collection
+     * @param index - index of the child
+     * @return the id of the child
+     */
+    public int getChild(int id, int index) {
+        Objects.checkIndex(index, childCount[check(id)]);
+        return children[firstChild[id] + index];
+    }
+
+    /**
+     * Get the structural hash of the node, the same as {@link Node#getStructuralHash()} of its view
+     *
+     * @param id - the node
+     * @return the 64-bit hash of the subtree
+     */
+    public long getStructuralHash(int id) {
+        check(id);
+        if (kinds[id] == NodeId.scalar.ordinal()) {
+            return StructuralHash.scalar(getTag(id), values[id]);
+        }
+        return hashes[id] != 0 ? hashes[id] : view(id).getStructuralHash();
+    }
+
+    /**
+     * Find the value of the first entry of a mapping with the given scalar key without creating any
+     * view.
+     *
+     * @param id - the mapping
+     * @param key - the value of the scalar key
+     * @return the id of the value or -1 if there is no such key
+     */
+    public int findValue(int id, String key) {
+        if (kinds[check(id)] != NodeId.mapping.ordinal()) {
+            return -1;
+        }
+        int end = firstChild[id] + childCount[id];
+        for (int i = firstChild[id]; i < end; i += 2) {
+            if (key.equals(values[children[i]])) {
+                return children[i + 1];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the view of the root node
+     *
+     * @return the root of the document
+     */
+    public Node getRoot() {
+        if (root == null) {
+            root = view(0);
+        }
+        return root;
+    }
+
+    /**
+     * Get the view of a node. The views of the nodes without aliases are not cached, every call
+     * creates a new view which is not the one in the value of the parent view. Walk the tree from
+     * {@link #getRoot()} to get the same Node objects every time (and to see the changes made by
+     * the constructors).
+     *
+     * @param id - the node
+     * @return the view
+     */
+    public Node view(int id) {
+        check(id);
+        if ((flags[id] & SHARED) != 0) {
+            if (sharedViews == null) {
+                sharedViews = new HashMap<>();
+            }
+            Node node = sharedViews.get(id);
+            if (node == null) {
+                node = createView(id);
+                sharedViews.put(id, node);
+            }
+            return node;
+        }
+        return createView(id);
+    }
+
+    private Node createView(int id) {
+        Tag tag = getTag(id);
+        boolean resolved = (flags[id] & RESOLVED) != 0;
+        Mark mark = startMark(id);
+        Node node;
+        switch (NODE_IDS[kinds[id]]) {
+            case scalar -> {
+                Number number = numbers != null ? numbers.get(id) : null;
+                if (number != null) {
+                    node = new ParsedScalarNode(tag, resolved, values[id], number, mark, null,
+                            SCALAR_STYLES[styles[id]]);
+                } else {
+                    node = new ScalarNode(tag, resolved, values[id], mark, null,
+                            SCALAR_STYLES[styles[id]]);
+                }
+            }
+            case sequence -> node = new SequenceNode(tag, resolved,
+                    new ChildList<>(firstChild[id], childCount[id], 1) {
+                        @Override
+                        Node create(int offset) {
+                            return view(children[offset]);
+                        }
+                    }, mark, null, FLOW_STYLES[styles[id]]);
+            default -> {
+                MappingNode mapping = new MappingNode(tag, resolved,
+                        new ChildList<>(firstChild[id], childCount[id] / 2, 2) {
+                            @Override
+                            NodeTuple create(int offset) {
+                                return new NodeTuple(view(children[offset]), view(children[offset + 1]));
+                            }
+                        }, mark, null, FLOW_STYLES[styles[id]]);
+                mapping.setMerged((flags[id] & MERGED) != 0);
+                node = mapping;
+            }
+        }
+        if (node instanceof CollectionNode<?> collection) {
+            collection.setStructuralHash(hashes[id]);
+        }
+        node.setTwoStepsConstruction((flags[id] & RECURSIVE) != 0);
+        if (anchors != null) {
+            node.setAnchor(anchors.get(id));
+        }
+        if (blockComments != null) {
+            node.setBlockComments(blockComments.get(id));
+        }
+        if (inLineComments != null) {
+            node.setInLineComments(inLineComments.get(id));
+        }
+        if (endComments != null) {
+            node.setEndComments(endComments.get(id));
+        }
+        return node;
+    }
+
+    Mark startMark(int id) {
+        return new Mark(sourceName, 0, lines[id], columns[id], NO_BUFFER, 0);
+    }
+
+    private int check(int id) {
+        return Objects.checkIndex(id, size);
+    }
+
+    /**
+     * Add a node, the children of a collection are added with {@link #setChildren(int, int[], int,
+     * int)} when it is complete.
+     */
+    int addNode(NodeId kind, Tag tag, boolean resolved, String value, int style, Mark startMark) {
+        if (size == kinds.length) {
+            int capacity = size * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            styles = Arrays.copyOf(styles, capacity);
+            flags = Arrays.copyOf(flags, capacity);
+            tags = Arrays.copyOf(tags, capacity);
+            values = Arrays.copyOf(values, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            childCount = Arrays.copyOf(childCount, capacity);
+            lines = Arrays.copyOf(lines, capacity);
+            columns = Arrays.copyOf(columns, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+        }
+        int id = size++;
+        kinds[id] = (byte) kind.ordinal();
+        styles[id] = (byte) style;
+        flags[id] = resolved ? RESOLVED : 0;
+        Integer index = tagIndex.get(tag.getValue());
+        if (index == null) {
+            index = tagTable.size();
+            tagTable.add(tag);
+            tagIndex.put(tag.getValue(), index);
+        }
+        tags[id] = index;
+        values[id] = value;
+        if (startMark != null) {
+            lines[id] = startMark.getLine();
+            columns[id] = startMark.getColumn();
+        }
+        return id;
+    }
+
+    void setChildren(int id, int[] source, int from, int count) {
+        if (childrenSize + count > children.length) {
+            children = Arrays.copyOf(children, Math.max(children.length * 2, childrenSize + count));
+        }
+        System.arraycopy(source, from, children, childrenSize, count);
+        firstChild[id] = childrenSize;
+        childCount[id] = count;
+        childrenSize += count;
+    }
+
+    /**
+     * Compute the structural hash of a complete collection from the hashes of its children, a
+     * child collection without a hash contains this one and is hashed as recursive
+     */
+    void updateStructuralHash(int id) {
+        int count = childCount[id];
+        long hash = StructuralHash.start(NODE_IDS[kinds[id]], getTag(id));
+        hash = StructuralHash.add(hash, kinds[id] == NodeId.mapping.ordinal() ? count / 2 : count);
+        int end = firstChild[id] + count;
+        for (int i = firstChild[id]; i < end; i++) {
+            int child = children[i];
+            if (kinds[child] == NodeId.scalar.ordinal()) {
+                hash = StructuralHash.add(hash, StructuralHash.scalar(getTag(child), values[child]));
+            } else {
+                hash = StructuralHash.add(hash, hashes[child] != 0 ? hashes[child] : StructuralHash.RECURSIVE);
+            }
+        }
+        // 0 stands for an unknown hash
+        hashes[id] = hash != 0 ? hash : 1;
+    }
+
+    void setFlag(int id, byte flag) {
+        flags[id] |= flag;
+    }
+
+    void setAnchor(int id, String anchor) {
+        if (anchors == null) {
+            anchors = new HashMap<>();
+        }
+        anchors.put(id, anchor);
+    }
+
+    void setNumber(int id, Number number) {
+        if (numbers == null) {
+            numbers = new HashMap<>();
+        }
+        numbers.put(id, number);
+    }
+
+    void setBlockComments(int id, List<CommentLine> comments) {
+        if (!comments.isEmpty()) {
+            if (blockComments == null) {
+                blockComments = new HashMap<>();
+            }
+            blockComments.put(id, comments);
+        }
+    }
+
+    void setInLineComments(int id, List<CommentLine> comments) {
+        if (!comments.isEmpty()) {
+            if (inLineComments == null) {
+                inLineComments = new HashMap<>();
+            }
+            inLineComments.put(id, comments);
+        }
+    }
+
+    void setEndComments(int id, List<CommentLine> comments) {
+        if (!comments.isEmpty()) {
+            if (endComments == null) {
+                endComments = new HashMap<>();
+            }
+            endComments.put(id, comments);
+        }
+    }
+
+    /**
+     * Release the unused capacity when the document is complete
+     */
+    void trim() {
+        kinds = Arrays.copyOf(kinds, size);
+        styles = Arrays.copyOf(styles, size);
+        flags = Arrays.copyOf(flags, size);
+        tags = Arrays.copyOf(tags, size);
+        values = Arrays.copyOf(values, size);
+        firstChild = Arrays.copyOf(firstChild, size);
+        childCount = Arrays.copyOf(childCount, size);
+        lines = Arrays.copyOf(lines, size);
+        columns = Arrays.copyOf(columns, size);
+        hashes = Arrays.copyOf(hashes, size);
+        children = Arrays.copyOf(children, childrenSize);
+    }
+
+    /**
+     * The value of a {@link CollectionNode} view. The elements are created on the first access and
+     * then kept, it is the only reference to the views of the unshared children. The constructors
+     * may remove the entries (duplicate keys, merge keys), the list is copied to an ArrayList on
+     * the first modification.
+     */
+    private abstract static class ChildList<E> extends AbstractList<E> implements RandomAccess {
+
+        private final int first;
+        private final int size;
+        private final int step;
+        private Object[] items;
+        private ArrayList<E> modified;
+
+        ChildList(int first, int size, int step) {
+            this.first = first;
+            this.size = size;
+            this.step = step;
+        }
+
+        abstract E create(int offset);
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            if (modified != null) {
+                return modified.get(index);
+            }
+            Objects.checkIndex(index, size);
+            if (items == null) {
+                items = new Object[size];
+            }
+            Object item = items[index];
+            if (item == null) {
+                item = create(first + index * step);
+                items[index] = item;
+            }
+            return (E) item;
+        }
+
+        @Override
+        public int size() {
+            return modified != null ? modified.size() : size;
+        }
+
+        @Override
+        public E set(int index, E element) {
+            return modifiable().set(index, element);
+        }
+
+        @Override
+        public void add(int index, E element) {
+            modCount++;
+            modifiable().add(index, element);
+        }
+
+        @Override
+        public E remove(int index) {
+            modCount++;
+            return modifiable().remove(index);
+        }
+
+        private ArrayList<E> modifiable() {
+            if (modified == null) {
+                ArrayList<E> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(get(i));
+                }
+                modified = list;
+                items = null;
+            }
+            return modified;
+        }
+    }
+}
@@ -26,14 +26,17 @@ import com.mohistmc.snakeyaml.events.MappingStartEvent;
 import com.mohistmc.snakeyaml.events.NodeEvent;
 import com.mohistmc.snakeyaml.events.ScalarEvent;
 import com.mohistmc.snakeyaml.events.SequenceStartEvent;
+import com.mohistmc.snakeyaml.nodes.CollectionNode;
 import com.mohistmc.snakeyaml.nodes.MappingNode;
 import com.mohistmc.snakeyaml.nodes.Node;
 import com.mohistmc.snakeyaml.nodes.NodeId;
 import com.mohistmc.snakeyaml.nodes.NodeTuple;
+import com.mohistmc.snakeyaml.nodes.ParsedScalarNode;
 import com.mohistmc.snakeyaml.nodes.ScalarNode;
 import com.mohistmc.snakeyaml.nodes.SequenceNode;
 import com.mohistmc.snakeyaml.nodes.Tag;
 import com.mohistmc.snakeyaml.parser.Parser;
+import com.mohistmc.snakeyaml.resolver.ResolvedScalar;
 import com.mohistmc.snakeyaml.resolver.Resolver;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -58,11 +61,14 @@ public class Composer {
     protected final Parser parser;
     private final Resolver resolver;
     private final Map<String, Node> anchors;
+    // the expanded sizes of the anchored nodes
+    private final Map<Node, Long> anchoredSizes = new HashMap<>();
     private final Set<Node> recursiveNodes;
     private final LoaderOptions loadingConfig;
     private final CommentEventsCollector blockCommentsCollector;
     private final CommentEventsCollector inlineCommentsCollector;
     private final int nestingDepthLimit;
+    final ExpansionBudget expansion;
     private int nonScalarAliasesCount = 0;
     // keep the nesting of collections inside other collections
     private int nestingDepth = 0;
@@ -93,6 +99,7 @@ public class Composer {
                 new CommentEventsCollector(parser, CommentType.BLANK_LINE, CommentType.BLOCK);
         this.inlineCommentsCollector = new CommentEventsCollector(parser, CommentType.IN_LINE);
         nestingDepthLimit = loadingConfig.getNestingDepthLimit();
+        this.expansion = new ExpansionBudget(loadingConfig.getMaxExpandedNodes());
     }
 
     /**
@@ -127,6 +134,7 @@ public class Composer {
         }
         // Drop the DOCUMENT-START event.
         parser.getEvent();
+        expansion.reset();
         // Compose the root node.
         Node node = composeNode(null);
         // Drop the DOCUMENT-END event.
@@ -137,9 +145,20 @@ public class Composer {
         parser.getEvent();
         this.anchors.clear();
         this.recursiveNodes.clear();
+        this.anchoredSizes.clear();
         return node;
     }
 
+    /**
+     * Get the size of the last composed document with all its aliases expanded
+     *
+     * @return the amount of the nodes, an alias counts as the whole anchored subtree
+     * @see LoaderOptions#getMaxExpandedNodes()
+     */
+    public long getExpandedSize() {
+        return expansion.size();
+    }
+
     /**
      * Reads a document from a source that contains only one document.
      * <p>
@@ -169,7 +188,7 @@ public class Composer {
     }
 
     private Node composeNode(Node parent) {
-        blockCommentsCollector.collectEvents();
+        collectBlockComments();
         if (parent != null) {
             recursiveNodes.add(parent);
         }
@@ -190,24 +209,30 @@ public class Composer {
                                     + loadingConfig.getMaxAliasesForCollections());
                 }
             }
+            // a recursive alias is counted as a single node
+            Long size = anchoredSizes.get(node);
+            expansion.add(size != null ? size : 1);
             if (recursiveNodes.remove(node)) {
                 node.setTwoStepsConstruction(true);
             }
-            // drop comments, they can not be supported here
-            blockCommentsCollector.consume();
-            inlineCommentsCollector.collectEvents().consume();
+            dropComments();
         } else {
             NodeEvent event = (NodeEvent) parser.peekEvent();
             String anchor = event.getAnchor();
             increaseNestingDepth();
+            long start = expansion.size();
+            expansion.add(1);
             // the check for duplicate anchors has been removed (issue 174)
             if (parser.checkEvent(Event.ID.Scalar)) {
-                node = composeScalarNode(anchor, blockCommentsCollector.consume());
+                node = composeScalarNode(anchor, consumeBlockComments());
             } else if (parser.checkEvent(Event.ID.SequenceStart)) {
                 node = composeSequenceNode(anchor);
             } else {
                 node = composeMappingNode(anchor);
             }
+            if (anchor != null) {
+                anchoredSizes.put(node, expansion.size() - start);
+            }
             decreaseNestingDepth();
         }
         recursiveNodes.remove(parent);
@@ -219,26 +244,32 @@ public class Composer {
         String tag = ev.getTag();
         boolean resolved = false;
         Tag nodeTag;
+        Number number = null;
         if (tag == null || tag.equals("!")) {
-            nodeTag = resolver.resolve(NodeId.scalar, ev.getValue(),
+            ResolvedScalar resolvedScalar = resolver.resolveScalar(ev.getValue(),
                     ev.getImplicit().canOmitTagInPlainScalar());
+            nodeTag = resolvedScalar.tag();
+            number = resolvedScalar.number();
             resolved = true;
         } else {
-            nodeTag = new Tag(tag);
-            if (nodeTag.isCustomGlobal()
-                    && !loadingConfig.getTagInspector().isGlobalTagAllowed(nodeTag)) {
-                throw new ComposerException(null, null, "Global tag is not allowed: " + tag,
-                        ev.getStartMark());
-            }
+            nodeTag = explicitTag(tag, ev.getStartMark());
+        }
+        Node node;
+        if (number != null) {
+            node = new ParsedScalarNode(nodeTag, resolved, ev.getValue(), number, ev.getStartMark(),
+                    ev.getEndMark(), ev.getScalarStyle());
+        } else {
+            node = new ScalarNode(nodeTag, resolved, ev.getValue(), ev.getStartMark(), ev.getEndMark(),
+                    ev.getScalarStyle());
         }
-        Node node = new ScalarNode(nodeTag, resolved, ev.getValue(), ev.getStartMark(), ev.getEndMark(),
-                ev.getScalarStyle());
         if (anchor != null) {
             node.setAnchor(anchor);
             anchors.put(anchor, node);
         }
-        node.setBlockComments(blockComments);
-        node.setInLineComments(inlineCommentsCollector.collectEvents().consume());
+        if (!blockComments.isEmpty()) {
+            node.setBlockComments(blockComments);
+        }
+        attachInLineComments(node);
         return node;
     }
 
@@ -252,18 +283,13 @@ public class Composer {
             nodeTag = resolver.resolve(NodeId.sequence, null, startEvent.getImplicit());
             resolved = true;
         } else {
-            nodeTag = new Tag(tag);
-            if (nodeTag.isCustomGlobal()
-                    && !loadingConfig.getTagInspector().isGlobalTagAllowed(nodeTag)) {
-                throw new ComposerException(null, null, "Global tag is not allowed: " + tag,
-                        startEvent.getStartMark());
-            }
+            nodeTag = explicitTag(tag, startEvent.getStartMark());
         }
         final ArrayList<Node> children = new ArrayList<>();
         SequenceNode node = new SequenceNode(nodeTag, resolved, children, startEvent.getStartMark(),
                 null, startEvent.getFlowStyle());
         if (startEvent.isFlow()) {
-            node.setBlockComments(blockCommentsCollector.consume());
+            attachBlockComments(node);
         }
         if (anchor != null) {
             node.setAnchor(anchor);
@@ -276,15 +302,7 @@ public class Composer {
             }
             children.add(composeNode(node));
         }
-        if (startEvent.isFlow()) {
-            node.setInLineComments(inlineCommentsCollector.collectEvents().consume());
-        }
-        Event endEvent = parser.getEvent();
-        node.setEndMark(endEvent.getEndMark());
-        inlineCommentsCollector.collectEvents();
-        if (!inlineCommentsCollector.isEmpty()) {
-            node.setInLineComments(inlineCommentsCollector.consume());
-        }
+        composeCollectionEnd(node, startEvent.isFlow());
         return node;
     }
 
@@ -297,19 +315,14 @@ public class Composer {
             nodeTag = resolver.resolve(NodeId.mapping, null, startEvent.getImplicit());
             resolved = true;
         } else {
-            nodeTag = new Tag(tag);
-            if (nodeTag.isCustomGlobal()
-                    && !loadingConfig.getTagInspector().isGlobalTagAllowed(nodeTag)) {
-                throw new ComposerException(null, null, "Global tag is not allowed: " + tag,
-                        startEvent.getStartMark());
-            }
+            nodeTag = explicitTag(tag, startEvent.getStartMark());
         }
 
         final List<NodeTuple> children = new ArrayList<>();
         MappingNode node = new MappingNode(nodeTag, resolved, children, startEvent.getStartMark(), null,
                 startEvent.getFlowStyle());
         if (startEvent.isFlow()) {
-            node.setBlockComments(blockCommentsCollector.consume());
+            attachBlockComments(node);
         }
         if (anchor != null) {
             node.setAnchor(anchor);
@@ -322,15 +335,10 @@ public class Composer {
             }
             composeMappingChildren(children, node);
         }
-        if (startEvent.isFlow()) {
-            node.setInLineComments(inlineCommentsCollector.collectEvents().consume());
-        }
-        Event endEvent = parser.getEvent();
-        node.setEndMark(endEvent.getEndMark());
-        inlineCommentsCollector.collectEvents();
-        if (!inlineCommentsCollector.isEmpty()) {
-            node.setInLineComments(inlineCommentsCollector.consume());
+        if (!loadingConfig.isAllowDuplicateKeys()) {
+            checkDuplicateKeys(node.getStartMark(), children);
         }
+        composeCollectionEnd(node, startEvent.isFlow());
         return node;
     }
 
@@ -349,6 +357,31 @@ public class Composer {
         children.add(new NodeTuple(itemKey, itemValue));
     }
 
+    static void checkDuplicateKeys(Mark mark, List<NodeTuple> children) {
+        DuplicateKeyIndex.check(mark, new DuplicateKeyIndex.Keys() {
+            @Override
+            public int size() {
+                return children.size();
+            }
+
+            @Override
+            public Tag tag(int index) {
+                Node key = children.get(index).keyNode();
+                return key instanceof ScalarNode ? key.getTag() : null;
+            }
+
+            @Override
+            public String value(int index) {
+                return ((ScalarNode) children.get(index).keyNode()).getValue();
+            }
+
+            @Override
+            public Mark mark(int index) {
+                return children.get(index).keyNode().getStartMark();
+            }
+        });
+    }
+
     /**
      * To be able to override composeNode(node) which is a key
      *
@@ -369,10 +402,99 @@ public class Composer {
         return composeNode(node);
     }
 
+    /**
+     * Create the tag which is explicitly given to a node. A custom global tag must be allowed by
+     * the {@link LoaderOptions#getTagInspector() tag inspector}.
+     *
+     * @param tag - the tag of the event
+     * @param mark - the start of the node
+     * @return the tag
+     */
+    protected Tag explicitTag(String tag, Mark mark) {
+        Tag nodeTag = new Tag(tag);
+        if (nodeTag.isCustomGlobal() && !loadingConfig.getTagInspector().isGlobalTagAllowed(nodeTag)) {
+            throw new ComposerException(null, null, "Global tag is not allowed: " + tag, mark);
+        }
+        return nodeTag;
+    }
+
+    /**
+     * Collect the block comments which precede the next node
+     */
+    protected void collectBlockComments() {
+        blockCommentsCollector.collectEvents();
+    }
+
+    /**
+     * Take the collected block comments
+     *
+     * @return the comments, empty when there are none
+     */
+    protected List<CommentLine> consumeBlockComments() {
+        return blockCommentsCollector.consume();
+    }
+
+    /**
+     * Collect and take the in-line comments which follow the current event
+     *
+     * @return the comments, empty when there are none
+     */
+    protected List<CommentLine> consumeInLineComments() {
+        return inlineCommentsCollector.collectEvents().consume();
+    }
+
+    /**
+     * Drop the comments of an alias, they can not be supported there
+     */
+    protected void dropComments() {
+        blockCommentsCollector.consume();
+        inlineCommentsCollector.collectEvents().consume();
+    }
+
+    /**
+     * Give the collected block comments to the node
+     *
+     * @param node - the node to comment
+     */
+    protected void attachBlockComments(Node node) {
+        if (!blockCommentsCollector.isEmpty()) {
+            node.setBlockComments(blockCommentsCollector.consume());
+        }
+    }
+
+    /**
+     * Give the in-line comments which follow the current event to the node
+     *
+     * @param node - the node to comment
+     */
+    protected void attachInLineComments(Node node) {
+        List<CommentLine> comments = consumeInLineComments();
+        if (!comments.isEmpty()) {
+            node.setInLineComments(comments);
+        }
+    }
+
+    /**
+     * Consume the end event of the collection together with its in-line comments. The collection is
+     * complete, its structural hash is computed from the hashes of its children.
+     *
+     * @param node - the composed collection
+     * @param flow - <code>true</code> for a flow collection
+     */
+    protected void composeCollectionEnd(CollectionNode<?> node, boolean flow) {
+        if (flow) {
+            attachInLineComments(node);
+        }
+        Event endEvent = parser.getEvent();
+        node.setEndMark(endEvent.getEndMark());
+        attachInLineComments(node);
+        node.updateStructuralHash();
+    }
+
     /**
      * Increase nesting depth and fail when it exceeds the denied limit
      */
-    private void increaseNestingDepth() {
+    protected void increaseNestingDepth() {
         if (nestingDepth > nestingDepthLimit) {
             throw new YAMLException("Nesting Depth exceeded max " + nestingDepthLimit);
         }
@@ -382,7 +504,7 @@ public class Composer {
     /**
      * Indicate that the collection is finished and the nesting is decreased
      */
-    private void decreaseNestingDepth() {
+    protected void decreaseNestingDepth() {
         if (nestingDepth > 0) {
             nestingDepth--;
         } else {
@@ -36,4 +36,18 @@ public class ComposerException extends MarkedYAMLException {
     protected ComposerException(String context, Mark contextMark, String problem, Mark problemMark) {
         super(context, contextMark, problem, problemMark);
     }
+
+    /**
+     * Create
+     *
+     * @param context - context
+     * @param contextMark - mark
+     * @param problem - the issue
+     * @param problemMark - where the issue occurs
+     * @param note - more details
+     */
+    protected ComposerException(String context, Mark contextMark, String problem, Mark problemMark,
+                                String note) {
+        super(context, contextMark, problem, problemMark, note);
+    }
 }
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2008, SnakeYAML
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.mohistmc.snakeyaml.composer;
+
+import com.mohistmc.snakeyaml.error.Mark;
+import com.mohistmc.snakeyaml.nodes.Tag;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds the repeated scalar keys of a mapping before it is constructed. The keys are compared by
+ * their tag and text in an open-addressing table sized for the mapping, so no key object is
+ * constructed and hashed. Keys with a different text which construct equal objects (like
+ * <code>1</code> and <code>0x1</code>) are still detected by the constructor.
+ */
+final class DuplicateKeyIndex {
+
+    private DuplicateKeyIndex() {
+    }
+
+    /**
+     * Fail with all the repeated keys of the mapping
+     *
+     * @param contextMark - the start of the mapping
+     * @param keys - the keys of the mapping
+     * @throws DuplicateKeysException if a key occurs more than once
+     */
+    static void check(Mark contextMark, Keys keys) {
+        int size = keys.size();
+        if (size < 2) {
+            return;
+        }
+        // at most half full, the slot keeps the index of the key + 1
+        int[] slots = new int[Integer.highestOneBit(size * 2 - 1) << 1];
+        int mask = slots.length - 1;
+        List<DuplicateKeysException.Duplicate> duplicates = null;
+        for (int i = 0; i < size; i++) {
+            Tag tag = keys.tag(i);
+            if (tag == null || tag.equals(Tag.MERGE)) {
+                continue;
+            }
+            String value = keys.value(i);
+            int slot = spread(value.hashCode() * 31 + tag.hashCode()) & mask;
+            while (true) {
+                int other = slots[slot] - 1;
+                if (other < 0) {
+                    slots[slot] = i + 1;
+                    break;
+                }
+                if (value.equals(keys.value(other)) && tag.equals(keys.tag(other))) {
+                    if (duplicates == null) {
+                        duplicates = new ArrayList<>();
+                    }
+                    duplicates.add(new DuplicateKeysException.Duplicate(value, keys.mark(i), keys.mark(other)));
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+        if (duplicates != null) {
+            throw new DuplicateKeysException(contextMark, duplicates);
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * The keys of a mapping
+     */
+    interface Keys {
+
+        /**
+         * @return the amount of the keys
+         */
+        int size();
+
+        /**
+         * @param index - index of the key
+         * @return the tag of the key or <code>null</code> when the key is not a scalar
+         */
+        Tag tag(int index);
+
+        /**
+         * @param index - index of the key, it is a scalar
+         * @return the value of the scalar key
+         */
+        String value(int index);
+
+        /**
+         * @param index - index of the key
+         * @return the position of the key
+         */
+        Mark mark(int index);
+    }
+}
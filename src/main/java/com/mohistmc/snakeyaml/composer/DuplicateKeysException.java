@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2008, SnakeYAML
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.mohistmc.snakeyaml.composer;
+
+import com.mohistmc.snakeyaml.constructor.DuplicateKeyException;
+import com.mohistmc.snakeyaml.error.Mark;
+import java.io.Serial;
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * Indicate a mapping with scalar keys which are not unique. It is thrown by the Composer when
+ * duplicate keys are not allowed and it lists all the duplicates of the mapping. It is a
+ * {@link DuplicateKeyException}, so the handlers of the duplicates found by the Constructor also
+ * handle it.
+ */
+public class DuplicateKeysException extends DuplicateKeyException {
+
+    @Serial
+    private static final long serialVersionUID = -6217461937470735290L;
+
+    /**
+     * -- GETTER --
+     *  All the repeated keys of the mapping in the document order
+     *
+     * @return the duplicates
+     */
+    @Getter
+    private final transient List<Duplicate> duplicates;
+
+    /**
+     * Create
+     *
+     * @param contextMark - the start of the mapping
+     * @param duplicates - the repeated keys, at least one
+     */
+    protected DuplicateKeysException(Mark contextMark, List<Duplicate> duplicates) {
+        super("while composing a mapping", contextMark, "found duplicate key " + duplicates.get(0).key(),
+                duplicates.get(0).mark(), describe(duplicates));
+        this.duplicates = List.copyOf(duplicates);
+    }
+
+    private static String describe(List<Duplicate> duplicates) {
+        if (duplicates.size() == 1) {
+            return null;
+        }
+        StringBuilder note = new StringBuilder("all the duplicate keys:");
+        for (Duplicate duplicate : duplicates) {
+            note.append("\n  ").append(duplicate.key()).append(" at ").append(position(duplicate.mark()))
+                    .append(", first at ").append(position(duplicate.firstMark()));
+        }
+        return note.toString();
+    }
+
+    private static String position(Mark mark) {
+        if (mark == null) {
+            return "unknown position";
+        }
+        return "line " + (mark.getLine() + 1) + ", column " + (mark.getColumn() + 1);
+    }
+
+    /**
+     * A key which occurs again in the same mapping
+     *
+     * @param key - the value of the scalar key
+     * @param mark - the position of the repeated key
+     * @param firstMark - the position of the first occurrence
+     */
+    public record Duplicate(String key, Mark mark, Mark firstMark) {
+
+    }
+}
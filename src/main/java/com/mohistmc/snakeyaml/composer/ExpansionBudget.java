@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2008, SnakeYAML
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.mohistmc.snakeyaml.composer;
+
+import com.mohistmc.snakeyaml.error.YAMLException;
+
+/**
+ * Counts the nodes of a document as if every alias was replaced by a copy of its anchored node. An
+ * alias adds the expanded size of the anchored subtree, which is known when the anchored node is
+ * complete, so the count grows with the real cost of copying the document (a "billion laughs"
+ * document is stopped after at most the limit of nodes, not after it is expanded).
+ */
+final class ExpansionBudget {
+
+    private final long max;
+    private long size = 0;
+
+    /**
+     * Create
+     *
+     * @param max - the max allowed expanded size of a document
+     */
+    ExpansionBudget(long max) {
+        this.max = max;
+    }
+
+    /**
+     * Start a new document
+     */
+    void reset() {
+        size = 0;
+    }
+
+    /**
+     * @return the expanded size of the document so far
+     */
+    long size() {
+        return size;
+    }
+
+    /**
+     * Add the nodes
+     *
+     * @param nodes - 1 for a new node or the expanded size of the node referenced by an alias
+     * @throws YAMLException if the limit is exceeded
+     */
+    void add(long nodes) {
+        if (nodes > max - size) {
+            throw new YAMLException("Expanded size of the document exceeds the specified max=" + max);
+        }
+        size += nodes;
+    }
+}
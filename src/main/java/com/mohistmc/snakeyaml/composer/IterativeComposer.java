@@ -0,0 +1,312 @@
+/**
+ * Copyright (c) 2008, SnakeYAML
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.mohistmc.snakeyaml.composer;
+
+import com.mohistmc.snakeyaml.DumperOptions.FlowStyle;
+import com.mohistmc.snakeyaml.LoaderOptions;
+import com.mohistmc.snakeyaml.comments.CommentLine;
+import com.mohistmc.snakeyaml.error.Mark;
+import com.mohistmc.snakeyaml.error.YAMLException;
+import com.mohistmc.snakeyaml.events.AliasEvent;
+import com.mohistmc.snakeyaml.events.CollectionStartEvent;
+import com.mohistmc.snakeyaml.events.Event;
+import com.mohistmc.snakeyaml.events.NodeEvent;
+import com.mohistmc.snakeyaml.events.ScalarEvent;
+import com.mohistmc.snakeyaml.nodes.CollectionNode;
+import com.mohistmc.snakeyaml.nodes.MappingNode;
+import com.mohistmc.snakeyaml.nodes.Node;
+import com.mohistmc.snakeyaml.nodes.NodeId;
+import com.mohistmc.snakeyaml.nodes.NodeTuple;
+import com.mohistmc.snakeyaml.nodes.ParsedScalarNode;
+import com.mohistmc.snakeyaml.nodes.ScalarNode;
+import com.mohistmc.snakeyaml.nodes.SequenceNode;
+import com.mohistmc.snakeyaml.nodes.Tag;
+import com.mohistmc.snakeyaml.parser.Parser;
+import com.mohistmc.snakeyaml.resolver.ResolvedScalar;
+import com.mohistmc.snakeyaml.resolver.Resolver;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.Getter;
+
+/**
+ * Composer which keeps the open collections in an explicit stack instead of the Java call stack.
+ * The depth of a document is limited only by {@link LoaderOptions#getNestingDepthLimit()} and the
+ * heap, a deep document can not cause a {@link StackOverflowError} while it is composed. The
+ * created nodes are the same as the ones created by {@link Composer}.
+ * <p>
+ * The aliases are counted while the document is composed. Every alias costs a single check of
+ * {@link LoaderOptions#getMaxAliasesForCollections()}.
+ * </p>
+ */
+public class IterativeComposer extends Composer {
+
+    private final Resolver resolver;
+    private final LoaderOptions loadingConfig;
+    private final int maxAliasesForCollections;
+    private final Map<String, Node> anchors = new HashMap<>();
+    // the expanded sizes of the anchored nodes
+    private final Map<Node, Long> anchoredSizes = new HashMap<>();
+    // the collections which are being composed (for recursive aliases)
+    private final Set<Node> open = new HashSet<>();
+    private final List<Frame> stack = new ArrayList<>();
+    /**
+     * -- GETTER --
+     *  Get the amount of the aliases in the documents composed so far
+     *
+     * @return the amount of all the aliases
+     */
+    @Getter
+    private int aliasCount = 0;
+    /**
+     * -- GETTER --
+     *  Get the amount of the aliases to collections in the documents composed so far. It is the
+     *  amount limited by {@link LoaderOptions#getMaxAliasesForCollections()}.
+     *
+     * @return the amount of the aliases to sequences and mappings
+     */
+    @Getter
+    private int nonScalarAliasCount = 0;
+
+    /**
+     * Create
+     *
+     * @param parser - the parser
+     * @param resolver - the resolver
+     * @param loadingConfig - options
+     */
+    public IterativeComposer(Parser parser, Resolver resolver, LoaderOptions loadingConfig) {
+        super(parser, resolver, loadingConfig);
+        this.resolver = resolver;
+        this.loadingConfig = loadingConfig;
+        this.maxAliasesForCollections = loadingConfig.getMaxAliasesForCollections();
+    }
+
+    @Override
+    public Node getNode() {
+        // Collect inter-document start comments
+        collectBlockComments();
+        if (parser.checkEvent(Event.ID.StreamEnd)) {
+            List<CommentLine> commentLines = consumeBlockComments();
+            Mark startMark = commentLines.get(0).getStartMark();
+            List<NodeTuple> children = Collections.emptyList();
+            Node node = new MappingNode(Tag.COMMENT, false, children, startMark, null, FlowStyle.BLOCK);
+            node.setBlockComments(commentLines);
+            return node;
+        }
+        // Drop the DOCUMENT-START event.
+        parser.getEvent();
+        expansion.reset();
+        Node node = compose();
+        // Drop the DOCUMENT-END event.
+        collectBlockComments();
+        List<CommentLine> endComments = consumeBlockComments();
+        if (!endComments.isEmpty()) {
+            node.setEndComments(endComments);
+        }
+        parser.getEvent();
+        anchors.clear();
+        open.clear();
+        anchoredSizes.clear();
+        return node;
+    }
+
+    private Node compose() {
+        Node node = openNode();
+        while (true) {
+            if (node != null) {
+                if (stack.isEmpty()) {
+                    return node;
+                }
+                Frame frame = stack.get(stack.size() - 1);
+                if (frame.entries != null) {
+                    if (frame.key == null) {
+                        // the value follows its key immediately
+                        frame.key = node;
+                        if (node.getTag().equals(Tag.MERGE)) {
+                            ((MappingNode) frame.node).setMerged(true);
+                        }
+                        node = openNode();
+                        continue;
+                    }
+                    frame.entries.add(new NodeTuple(frame.key, node));
+                    frame.key = null;
+                } else {
+                    frame.items.add(node);
+                }
+            }
+            Frame frame = stack.get(stack.size() - 1);
+            collectBlockComments();
+            if (parser.checkEvent(frame.endId)) {
+                node = closeCollection(frame);
+            } else {
+                node = openNode();
+            }
+        }
+    }
+
+    /**
+     * Compose a scalar or an alias, or start a collection
+     *
+     * @return the complete node or <code>null</code> when a collection is opened
+     */
+    private Node openNode() {
+        collectBlockComments();
+        if (parser.checkEvent(Event.ID.Alias)) {
+            AliasEvent event = (AliasEvent) parser.getEvent();
+            String anchor = event.getAnchor();
+            Node node = anchors.get(anchor);
+            if (node == null) {
+                throw new ComposerException(null, null, "found undefined alias " + anchor,
+                        event.getStartMark());
+            }
+            aliasCount++;
+            if (!(node instanceof ScalarNode) && ++nonScalarAliasCount > maxAliasesForCollections) {
+                throw new YAMLException("Number of aliases for non-scalar nodes exceeds the specified max="
+                        + maxAliasesForCollections);
+            }
+            // a recursive alias is counted as a single node
+            Long size = anchoredSizes.get(node);
+            expansion.add(size != null ? size : 1);
+            if (open.contains(node)) {
+                node.setTwoStepsConstruction(true);
+            }
+            dropComments();
+            return node;
+        }
+        NodeEvent event = (NodeEvent) parser.peekEvent();
+        String anchor = event.getAnchor();
+        increaseNestingDepth();
+        expansion.add(1);
+        if (parser.checkEvent(Event.ID.Scalar)) {
+            Node node = composeScalar(anchor, consumeBlockComments());
+            if (anchor != null) {
+                anchoredSizes.put(node, 1L);
+            }
+            decreaseNestingDepth();
+            return node;
+        }
+        openCollection(anchor);
+        return null;
+    }
+
+    private Node composeScalar(String anchor, List<CommentLine> blockComments) {
+        ScalarEvent ev = (ScalarEvent) parser.getEvent();
+        String tag = ev.getTag();
+        boolean resolved = false;
+        Tag nodeTag;
+        Number number = null;
+        if (tag == null || tag.equals("!")) {
+            ResolvedScalar resolvedScalar = resolver.resolveScalar(ev.getValue(),
+                    ev.getImplicit().canOmitTagInPlainScalar());
+            nodeTag = resolvedScalar.tag();
+            number = resolvedScalar.number();
+            resolved = true;
+        } else {
+            nodeTag = explicitTag(tag, ev.getStartMark());
+        }
+        Node node;
+        if (number != null) {
+            node = new ParsedScalarNode(nodeTag, resolved, ev.getValue(), number, ev.getStartMark(),
+                    ev.getEndMark(), ev.getScalarStyle());
+        } else {
+            node = new ScalarNode(nodeTag, resolved, ev.getValue(), ev.getStartMark(), ev.getEndMark(),
+                    ev.getScalarStyle());
+        }
+        if (anchor != null) {
+            node.setAnchor(anchor);
+            anchors.put(anchor, node);
+        }
+        if (!blockComments.isEmpty()) {
+            node.setBlockComments(blockComments);
+        }
+        attachInLineComments(node);
+        return node;
+    }
+
+    private void openCollection(String anchor) {
+        CollectionStartEvent startEvent = (CollectionStartEvent) parser.getEvent();
+        boolean mapping = startEvent.is(Event.ID.MappingStart);
+        NodeId kind = mapping ? NodeId.mapping : NodeId.sequence;
+        String tag = startEvent.getTag();
+        Tag nodeTag;
+        boolean resolved = false;
+        if (tag == null || tag.equals("!")) {
+            nodeTag = resolver.resolve(kind, null, startEvent.getImplicit());
+            resolved = true;
+        } else {
+            nodeTag = explicitTag(tag, startEvent.getStartMark());
+        }
+        Frame frame = new Frame(startEvent, mapping, expansion.size() - 1);
+        if (mapping) {
+            frame.entries = new ArrayList<>();
+            frame.node = new MappingNode(nodeTag, resolved, frame.entries, startEvent.getStartMark(), null,
+                    startEvent.getFlowStyle());
+        } else {
+            frame.items = new ArrayList<>();
+            frame.node = new SequenceNode(nodeTag, resolved, frame.items, startEvent.getStartMark(), null,
+                    startEvent.getFlowStyle());
+        }
+        if (startEvent.isFlow()) {
+            attachBlockComments(frame.node);
+        }
+        if (anchor != null) {
+            frame.node.setAnchor(anchor);
+            anchors.put(anchor, frame.node);
+        }
+        open.add(frame.node);
+        stack.add(frame);
+    }
+
+    private Node closeCollection(Frame frame) {
+        stack.remove(stack.size() - 1);
+        CollectionNode<?> node = frame.node;
+        open.remove(node);
+        if (node.getAnchor() != null) {
+            anchoredSizes.put(node, expansion.size() - frame.start);
+        }
+        if (frame.entries != null && !loadingConfig.isAllowDuplicateKeys()) {
+            checkDuplicateKeys(node.getStartMark(), frame.entries);
+        }
+        composeCollectionEnd(node, frame.startEvent.isFlow());
+        decreaseNestingDepth();
+        return node;
+    }
+
+    /**
+     * A collection which is being composed
+     */
+    private static final class Frame {
+
+        private final CollectionStartEvent startEvent;
+        private final Event.ID endId;
+        // the expanded size of the document before this collection
+        private final long start;
+        private CollectionNode<?> node;
+        private List<Node> items;
+        private List<NodeTuple> entries;
+        // the key of the entry whose value is being composed
+        private Node key;
+
+        private Frame(CollectionStartEvent startEvent, boolean mapping, long start) {
+            this.startEvent = startEvent;
+            this.endId = mapping ? Event.ID.MappingEnd : Event.ID.SequenceEnd;
+            this.start = start;
+        }
+    }
+}
@@ -27,6 +27,8 @@ import com.mohistmc.snakeyaml.nodes.Tag;
 import com.mohistmc.snakeyaml.util.EnumUtils;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.time.Instant;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
@@ -451,7 +453,7 @@ public class Constructor extends SafeConstructor {
                 }
             } else if (Date.class.isAssignableFrom(type)) {
                 com.mohistmc.snakeyaml.constructor.Construct dateConstructor = yamlConstructors.get(Tag.TIMESTAMP);
-                Date date = (Date) dateConstructor.construct(node);
+                Date date = toDate(dateConstructor.construct(node));
                 if (type == Date.class) {
                     result = date;
                 } else {
@@ -505,9 +507,7 @@ public class Constructor extends SafeConstructor {
                             + "' for enum class: " + type.getName());
                 }
             } else if (Calendar.class.isAssignableFrom(type)) {
-                ConstructYamlTimestamp contr = new ConstructYamlTimestamp();
-                contr.construct(node);
-                result = contr.getCalendar();
+                result = new ConstructYamlTimestamp().constructCalendar(node.getValue());
             } else if (Number.class.isAssignableFrom(type)) {
                 // since we do not know the exact type we create Float
                 ConstructYamlFloat contr = new ConstructYamlFloat();
@@ -523,6 +523,18 @@ public class Constructor extends SafeConstructor {
             }
             return result;
         }
+
+        /**
+         * The timestamps may be constructed as java.time values, see LoaderOptions.getTimestampType()
+         */
+        private Date toDate(Object timestamp) {
+            if (timestamp instanceof Instant instant) {
+                return Date.from(instant);
+            } else if (timestamp instanceof OffsetDateTime dateTime) {
+                return Date.from(dateTime.toInstant());
+            }
+            return (Date) timestamp;
+        }
     }
 
     /**
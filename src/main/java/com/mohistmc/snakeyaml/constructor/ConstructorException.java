@@ -25,6 +25,21 @@ public class ConstructorException extends MarkedYAMLException {
     @Serial
     private static final long serialVersionUID = -8816339931365239910L;
 
+    /**
+     * Create
+     *
+     * @param context - part of the document
+     * @param contextMark - context position
+     * @param problem - the issue
+     * @param problemMark - problem position
+     * @param note - the details
+     * @param cause - the reason
+     */
+    protected ConstructorException(String context, Mark contextMark, String problem, Mark problemMark,
+                                   String note, Throwable cause) {
+        super(context, contextMark, problem, problemMark, note, cause);
+    }
+
     /**
      * Create
      *
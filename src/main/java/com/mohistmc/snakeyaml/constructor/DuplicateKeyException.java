@@ -30,4 +30,18 @@ public class DuplicateKeyException extends ConstructorException {
     protected DuplicateKeyException(Mark contextMark, Object key, Mark problemMark) {
         super("while constructing a mapping", contextMark, "found duplicate key " + key, problemMark);
     }
+
+    /**
+     * Create
+     *
+     * @param context - part of the document
+     * @param contextMark - context location
+     * @param problem - the issue
+     * @param problemMark - the problem location
+     * @param note - the details
+     */
+    protected DuplicateKeyException(String context, Mark contextMark, String problem, Mark problemMark,
+                                    String note) {
+        super(context, contextMark, problem, problemMark, note, null);
+    }
 }
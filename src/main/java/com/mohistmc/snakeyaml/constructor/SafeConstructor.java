@@ -19,24 +19,27 @@ import com.mohistmc.snakeyaml.nodes.MappingNode;
 import com.mohistmc.snakeyaml.nodes.Node;
 import com.mohistmc.snakeyaml.nodes.NodeId;
 import com.mohistmc.snakeyaml.nodes.NodeTuple;
+import com.mohistmc.snakeyaml.nodes.ParsedScalarNode;
 import com.mohistmc.snakeyaml.nodes.ScalarNode;
 import com.mohistmc.snakeyaml.nodes.SequenceNode;
 import com.mohistmc.snakeyaml.nodes.Tag;
 import java.math.BigInteger;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Calendar;
+import java.util.Date;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
-import java.util.TreeSet;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import lombok.Getter;
 
 /**
  * Construct standard Java classes
@@ -80,7 +83,12 @@ public class SafeConstructor extends BaseConstructor {
         this.yamlConstructors.put(Tag.INT, new ConstructYamlInt());
         this.yamlConstructors.put(Tag.FLOAT, new ConstructYamlFloat());
         this.yamlConstructors.put(Tag.BINARY, new ConstructYamlBinary());
-        this.yamlConstructors.put(Tag.TIMESTAMP, new ConstructYamlTimestamp());
+        if (loaderOptions.getTimestampType() == LoaderOptions.TimestampType.DATE) {
+            this.yamlConstructors.put(Tag.TIMESTAMP, new ConstructYamlTimestamp());
+        } else {
+            this.yamlConstructors.put(Tag.TIMESTAMP,
+                    new ConstructYamlTemporal(loaderOptions.getTimestampType()));
+        }
         this.yamlConstructors.put(Tag.OMAP, new ConstructYamlOmap());
         this.yamlConstructors.put(Tag.PAIRS, new ConstructYamlPairs());
         this.yamlConstructors.put(Tag.SET, new ConstructYamlSet());
@@ -113,12 +121,23 @@ public class SafeConstructor extends BaseConstructor {
         flattenMapping(node, false);
     }
 
+    /**
+     * Replace the merge keys of the mapping by the merged entries. The own keys of the mapping win
+     * over the merged ones. The merged entries are taken in the document order, the merge keys of a
+     * source are expanded where they are and the first occurrence of a key wins. The sources are
+     * not changed. A source which is referenced again adds no new keys, it is merged only once.
+     *
+     * @param node - the mapping to flatten
+     * @param forceStringKeys - true to construct all the keys as strings
+     */
     protected void flattenMapping(MappingNode node, boolean forceStringKeys) {
         // perform merging only on nodes containing merge node(s)
         processDuplicateKeys(node, forceStringKeys);
         if (node.isMerged()) {
-            node.setValue(mergeNode(node, true, new HashMap<>(),
-                    new ArrayList<>(), forceStringKeys));
+            Set<Node> sources = new HashSet<>();
+            sources.add(node);
+            List<NodeTuple> values = new ArrayList<>(node.getValue().size());
+            node.setValue(mergeNode(node, true, new HashMap<>(), values, sources, forceStringKeys));
         }
     }
 
@@ -129,7 +148,7 @@ public class SafeConstructor extends BaseConstructor {
     protected void processDuplicateKeys(MappingNode node, boolean forceStringKeys) {
         List<NodeTuple> nodeValue = node.getValue();
         Map<Object, Integer> keys = new HashMap<>(nodeValue.size());
-        TreeSet<Integer> toRemove = new TreeSet<>();
+        boolean[] toRemove = null;
         int i = 0;
         for (NodeTuple tuple : nodeValue) {
             Node keyNode = tuple.keyNode();
@@ -165,15 +184,27 @@ public class SafeConstructor extends BaseConstructor {
                         throw new DuplicateKeyException(node.getStartMark(), key,
                                 tuple.keyNode().getStartMark());
                     }
-                    toRemove.add(prevIndex);
+                    if (toRemove == null) {
+                        toRemove = new boolean[nodeValue.size()];
+                    }
+                    toRemove[prevIndex] = true;
                 }
             }
             i = i + 1;
         }
 
-        Iterator<Integer> indices2remove = toRemove.descendingIterator();
-        while (indices2remove.hasNext()) {
-            nodeValue.remove(indices2remove.next().intValue());
+        if (toRemove != null) {
+            // compact the list in one pass instead of removing the entries one by one
+            int size = 0;
+            for (int j = 0; j < toRemove.length; j++) {
+                if (!toRemove[j]) {
+                    if (size != j) {
+                        nodeValue.set(size, nodeValue.get(j));
+                    }
+                    size++;
+                }
+            }
+            nodeValue.subList(size, toRemove.length).clear();
         }
     }
 
@@ -184,21 +215,21 @@ public class SafeConstructor extends BaseConstructor {
      * @param isPreffered true if keys of node should take precedence over others...
      * @param key2index maps already merged keys to index from values
      * @param values collects merged NodeTuple
+     * @param sources the mappings which are already merged
      * @return list of the merged NodeTuple (to be set as value for the MappingNode)
      */
-    private List<NodeTuple> mergeNode(MappingNode node, boolean isPreffered,
-                                      Map<Object, Integer> key2index, List<NodeTuple> values, boolean forceStringKeys) {
-        Iterator<NodeTuple> iter = node.getValue().iterator();
-        while (iter.hasNext()) {
-            final NodeTuple nodeTuple = iter.next();
+    private List<NodeTuple> mergeNode(MappingNode node, boolean isPreffered, Map<Object, Integer> key2index,
+                                      List<NodeTuple> values, Set<Node> sources, boolean forceStringKeys) {
+        for (NodeTuple nodeTuple : node.getValue()) {
             final Node keyNode = nodeTuple.keyNode();
             final Node valueNode = nodeTuple.valueNode();
             if (keyNode.getTag().equals(Tag.MERGE)) {
-                iter.remove();
                 switch (valueNode.getNodeId()) {
                     case mapping:
                         MappingNode mn = (MappingNode) valueNode;
-                        mergeNode(mn, false, key2index, values, forceStringKeys);
+                        if (sources.add(mn)) {
+                            mergeNode(mn, false, key2index, values, sources, forceStringKeys);
+                        }
                         break;
                     case sequence:
                         SequenceNode sn = (SequenceNode) valueNode;
@@ -209,7 +240,9 @@ public class SafeConstructor extends BaseConstructor {
                                         "expected a mapping for merging, but found " + subnode.getNodeId(),
                                         subnode.getStartMark());
                             }
-                            mergeNode(mnode, false, key2index, values, forceStringKeys);
+                            if (sources.add(mnode)) {
+                                mergeNode(mnode, false, key2index, values, sources, forceStringKeys);
+                            }
                         }
                         break;
                     default:
@@ -279,15 +312,45 @@ public class SafeConstructor extends BaseConstructor {
         return result;
     }
 
-    @Getter
     public static class ConstructYamlTimestamp extends AbstractConstruct {
 
+        // the value of the last construct() which did not need the Calendar
+        private String value;
         private Calendar calendar;
 
         @Override
         public Object construct(Node node) {
-            ScalarNode scalar = (ScalarNode) node;
-            String nodeValue = scalar.getValue();
+            String nodeValue = ((ScalarNode) node).getValue();
+            long millis = TimestampParser.toEpochMillis(nodeValue);
+            if (millis != TimestampParser.UNSUPPORTED) {
+                value = nodeValue;
+                calendar = null;
+                return new Date(millis);
+            }
+            return constructCalendar(nodeValue).getTime();
+        }
+
+        /**
+         * Get the Calendar of the last constructed timestamp, it is created on demand when the
+         * timestamp was parsed without it
+         *
+         * @return the Calendar in the time zone of the timestamp
+         */
+        public Calendar getCalendar() {
+            if (calendar == null && value != null) {
+                constructCalendar(value);
+            }
+            return calendar;
+        }
+
+        /**
+         * Construct the timestamp as a lenient Calendar in its time zone
+         *
+         * @param nodeValue - the timestamp
+         * @return the Calendar
+         */
+        public Calendar constructCalendar(String nodeValue) {
+            value = null;
             Matcher match = YMD_REGEXP.matcher(nodeValue);
             if (match.matches()) {
                 String year_s = match.group(1);
@@ -299,7 +362,7 @@ public class SafeConstructor extends BaseConstructor {
                 // Java's months are zero-based...
                 calendar.set(Calendar.MONTH, Integer.parseInt(month_s) - 1); // x
                 calendar.set(Calendar.DAY_OF_MONTH, Integer.parseInt(day_s));
-                return calendar.getTime();
+                return calendar;
             } else {
                 match = TIMESTAMP_REGEXP.matcher(nodeValue);
                 if (!match.matches()) {
@@ -339,11 +402,48 @@ public class SafeConstructor extends BaseConstructor {
                 calendar.set(Calendar.MINUTE, Integer.parseInt(min_s));
                 calendar.set(Calendar.SECOND, sec_s);
                 calendar.set(Calendar.MILLISECOND, usec);
-                return calendar.getTime();
+                return calendar;
             }
         }
     }
 
+    /**
+     * Construct the timestamps as {@link Instant} or {@link OffsetDateTime} (see
+     * {@link LoaderOptions#setTimestampType(LoaderOptions.TimestampType)}). A value without a time
+     * zone is in UTC. The values which only the lenient Calendar accepts are constructed by
+     * {@link ConstructYamlTimestamp} and converted, with the UTC offset.
+     */
+    public static class ConstructYamlTemporal extends AbstractConstruct {
+
+        private final LoaderOptions.TimestampType type;
+
+        /**
+         * Create
+         *
+         * @param type - INSTANT or OFFSET_DATE_TIME
+         */
+        public ConstructYamlTemporal(LoaderOptions.TimestampType type) {
+            if (type == null || type == LoaderOptions.TimestampType.DATE) {
+                throw new IllegalArgumentException("Unsupported timestamp type: " + type);
+            }
+            this.type = type;
+        }
+
+        @Override
+        public Object construct(Node node) {
+            String nodeValue = ((ScalarNode) node).getValue();
+            Object result = type == LoaderOptions.TimestampType.INSTANT
+                    ? TimestampParser.toInstant(nodeValue)
+                    : TimestampParser.toOffsetDateTime(nodeValue);
+            if (result != null) {
+                return result;
+            }
+            Instant instant = new ConstructYamlTimestamp().constructCalendar(nodeValue).toInstant();
+            return type == LoaderOptions.TimestampType.INSTANT ? instant
+                    : OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+        }
+    }
+
     public static final class ConstructUndefined extends AbstractConstruct {
 
         @Override
@@ -377,6 +477,9 @@ public class SafeConstructor extends BaseConstructor {
 
         @Override
         public Object construct(Node node) {
+            if (node instanceof ParsedScalarNode parsed && !(parsed.getNumber() instanceof Double)) {
+                return parsed.getNumber();
+            }
             String value = constructScalar((ScalarNode) node).replaceAll("_", "");
             if (value.isEmpty()) {
                 throw new ConstructorException("while constructing an int", node.getStartMark(),
@@ -399,6 +502,10 @@ public class SafeConstructor extends BaseConstructor {
             } else if (value.startsWith("0x")) {
                 value = value.substring(2);
                 base = 16;
+            } else if (value.startsWith("0o")) {
+                // YAML 1.2
+                value = value.substring(2);
+                base = 8;
             } else if (value.startsWith("0")) {
                 value = value.substring(1);
                 base = 8;
@@ -422,6 +529,9 @@ public class SafeConstructor extends BaseConstructor {
 
         @Override
         public Object construct(Node node) {
+            if (node instanceof ParsedScalarNode parsed && parsed.getNumber() instanceof Double) {
+                return parsed.getNumber();
+            }
             String value = constructScalar((ScalarNode) node).replaceAll("_", "");
             if (value.isEmpty()) {
                 throw new ConstructorException("while constructing a float", node.getStartMark(),
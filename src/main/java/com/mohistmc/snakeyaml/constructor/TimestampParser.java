@@ -0,0 +1,306 @@
+/**
+ * Copyright (c) 2008, SnakeYAML
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.mohistmc.snakeyaml.constructor;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Parser of the timestamps ({@link com.mohistmc.snakeyaml.resolver.Resolver#TIMESTAMP}) without
+ * regular expressions and Calendar.
+ * <p>
+ * The Calendar of {@link SafeConstructor.ConstructYamlTimestamp} is lenient: the fields out of
+ * range are rolled over (2001-13-01 is 2002-01-01), the dates before 1583 are in the Julian
+ * calendar and an unknown time zone (an offset of more than 23 hours) is GMT. These values are
+ * not parsed here (the methods return <code>null</code>), so the callers keep the exact results of
+ * the Calendar for them.
+ * </p>
+ */
+public final class TimestampParser {
+
+    /**
+     * The result of {@link #toEpochMillis(String)} for the values which are not parsed
+     */
+    public static final long UNSUPPORTED = Long.MIN_VALUE;
+
+    private static final long DAYS_0000_TO_1970 = 146097L * 5L - (30L * 365L + 7L);
+    private static final int MAX_OFFSET_MINUTES = 18 * 60;
+    // the offsets by their minutes, created on the first use
+    private static final ZoneOffset[] OFFSETS = new ZoneOffset[2 * MAX_OFFSET_MINUTES + 1];
+
+    private TimestampParser() {
+    }
+
+    /**
+     * Parse a timestamp into the milliseconds of a Date. The fraction of a second is rounded to
+     * milliseconds exactly like {@link SafeConstructor.ConstructYamlTimestamp} does.
+     *
+     * @param value - the timestamp
+     * @return the milliseconds since the epoch, {@link #UNSUPPORTED} when the value is not parsed
+     */
+    public static long toEpochMillis(String value) {
+        Fields fields = parse(value);
+        if (fields == null) {
+            return UNSUPPORTED;
+        }
+        int second = fields.second;
+        int millis = 0;
+        int digits = fields.fractionEnd - fields.fractionStart;
+        if (digits > 3) {
+            // the same rounding as the Calendar path
+            double fractions = Double.parseDouble(value.substring(fields.fractionStart - 3, fields.fractionEnd));
+            second = (int) Math.round(Math.floor(fractions));
+            millis = (int) Math.round((fractions - second) * 1000);
+        } else if (digits > 0) {
+            millis = digits(value, fields.fractionStart, fields.fractionEnd);
+            for (int i = digits; i < 3; i++) {
+                millis *= 10;
+            }
+        }
+        long seconds = epochDay(fields.year, fields.month, fields.day) * 86400L
+                + fields.hour * 3600L + fields.minute * 60L + second - fields.offsetMinutes * 60L;
+        return seconds * 1000L + millis;
+    }
+
+    /**
+     * Parse a timestamp into an OffsetDateTime. The fraction of a second is truncated to
+     * nanoseconds. A value without a time zone is in UTC.
+     *
+     * @param value - the timestamp
+     * @return the date and time, <code>null</code> when the value is not parsed
+     */
+    public static OffsetDateTime toOffsetDateTime(String value) {
+        Fields fields = parse(value);
+        if (fields == null) {
+            return null;
+        }
+        return OffsetDateTime.of(fields.year, fields.month, fields.day, fields.hour, fields.minute,
+                fields.second, nanos(value, fields), offset(fields.offsetMinutes));
+    }
+
+    /**
+     * Parse a timestamp into an Instant. The fraction of a second is truncated to nanoseconds. A
+     * value without a time zone is in UTC.
+     *
+     * @param value - the timestamp
+     * @return the instant, <code>null</code> when the value is not parsed
+     */
+    public static Instant toInstant(String value) {
+        Fields fields = parse(value);
+        if (fields == null) {
+            return null;
+        }
+        long seconds = epochDay(fields.year, fields.month, fields.day) * 86400L
+                + fields.hour * 3600L + fields.minute * 60L + fields.second - fields.offsetMinutes * 60L;
+        return Instant.ofEpochSecond(seconds, nanos(value, fields));
+    }
+
+    private static ZoneOffset offset(int minutes) {
+        ZoneOffset offset = OFFSETS[minutes + MAX_OFFSET_MINUTES];
+        if (offset == null) {
+            // a race creates an equal instance
+            offset = ZoneOffset.ofTotalSeconds(minutes * 60);
+            OFFSETS[minutes + MAX_OFFSET_MINUTES] = offset;
+        }
+        return offset;
+    }
+
+    private static int nanos(String value, Fields fields) {
+        int end = Math.min(fields.fractionEnd, fields.fractionStart + 9);
+        int nanos = digits(value, fields.fractionStart, end);
+        for (int i = end - fields.fractionStart; i < 9; i++) {
+            nanos *= 10;
+        }
+        return nanos;
+    }
+
+    /**
+     * The fields of a timestamp, the fraction of a second is kept as its position in the value
+     */
+    private static final class Fields {
+
+        int year;
+        int month;
+        int day;
+        int hour;
+        int minute;
+        int second;
+        int fractionStart;
+        int fractionEnd;
+        int offsetMinutes;
+    }
+
+    /**
+     * Parse the value by {@link com.mohistmc.snakeyaml.resolver.Resolver#TIMESTAMP}
+     *
+     * @return the fields or <code>null</code> when the value does not match or needs the Calendar
+     */
+    private static Fields parse(String value) {
+        int length = value.length();
+        if (length < 8 || !isDigits(value, 0, 4) || value.charAt(4) != '-') {
+            return null;
+        }
+        Fields fields = new Fields();
+        fields.year = digits(value, 0, 4);
+        int i = skipDigits(value, 5, 2);
+        if (i == 5 || i >= length || value.charAt(i) != '-') {
+            return null;
+        }
+        fields.month = digits(value, 5, i);
+        int start = i + 1;
+        i = skipDigits(value, start, 2);
+        if (i == start) {
+            return null;
+        }
+        fields.day = digits(value, start, i);
+        if (i < length) {
+            // the time
+            char c = value.charAt(i);
+            if (c == 'T' || c == 't') {
+                i++;
+            } else if (c == ' ' || c == '\t') {
+                i = skipSpaces(value, i);
+            } else {
+                return null;
+            }
+            start = i;
+            i = skipDigits(value, start, 2);
+            if (i == start || !isTwoDigits(value, i + 1) || value.charAt(i) != ':'
+                    || !isTwoDigits(value, i + 4) || value.charAt(i + 3) != ':') {
+                return null;
+            }
+            fields.hour = digits(value, start, i);
+            fields.minute = digits(value, i + 1, i + 3);
+            fields.second = digits(value, i + 4, i + 6);
+            i += 6;
+            fields.fractionStart = i + 1;
+            fields.fractionEnd = i + 1;
+            if (i < length && value.charAt(i) == '.') {
+                i = skipDigits(value, i + 1, length);
+                fields.fractionEnd = i;
+            }
+            if (i < length) {
+                // the time zone
+                i = skipSpaces(value, i);
+                if (i == length - 1 && value.charAt(i) == 'Z') {
+                    i = length;
+                } else if (i < length && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+                    int sign = value.charAt(i) == '-' ? -1 : 1;
+                    start = i + 1;
+                    i = skipDigits(value, start, 2);
+                    if (i == start) {
+                        return null;
+                    }
+                    int hours = digits(value, start, i);
+                    int minutes = 0;
+                    if (i < length && value.charAt(i) == ':') {
+                        // a ':' without the minutes is left to the Calendar
+                        if (!isTwoDigits(value, i + 1)) {
+                            return null;
+                        }
+                        minutes = digits(value, i + 1, i + 3);
+                        i += 3;
+                    }
+                    fields.offsetMinutes = sign * (hours * 60 + minutes);
+                    if (minutes > 59 || Math.abs(fields.offsetMinutes) > MAX_OFFSET_MINUTES) {
+                        return null;
+                    }
+                } else {
+                    return null;
+                }
+            }
+            if (i != length) {
+                return null;
+            }
+        }
+        if (fields.year < 1583 || fields.month < 1 || fields.month > 12 || fields.day < 1
+                || fields.day > monthLength(fields.year, fields.month) || fields.hour > 23
+                || fields.minute > 59 || fields.second > 59) {
+            return null;
+        }
+        return fields;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isDigits(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isTwoDigits(String value, int index) {
+        return index + 2 <= value.length() && isDigits(value, index, index + 2);
+    }
+
+    /**
+     * @return the index after at most max digits
+     */
+    private static int skipDigits(String value, int index, int max) {
+        int end = Math.min(value.length(), index + max);
+        while (index < end && isDigit(value.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static int skipSpaces(String value, int index) {
+        while (index < value.length() && (value.charAt(index) == ' ' || value.charAt(index) == '\t')) {
+            index++;
+        }
+        return index;
+    }
+
+    private static int digits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            result = result * 10 + (value.charAt(i) - '0');
+        }
+        return result;
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static int monthLength(int year, int month) {
+        return switch (month) {
+            case 2 -> isLeapYear(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    /**
+     * The same as {@link java.time.LocalDate#toEpochDay()} for the positive years
+     */
+    private static long epochDay(int year, int month, int day) {
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367L * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+}
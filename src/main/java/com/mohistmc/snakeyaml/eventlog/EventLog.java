@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2008, SnakeYAML
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.mohistmc.snakeyaml.eventlog;
+
+import com.mohistmc.snakeyaml.events.Event;
+
+/**
+ * Constants of the binary event log format.
+ * <p>
+ * The log starts with the {@link #MAGIC} bytes, the format {@link #VERSION} and a flags byte. Every
+ * event is written as its code followed by its fields. Integers are unsigned LEB128 varints.
+ * Strings are references to a table which is built while writing: 0 is <code>null</code>, a known
+ * string is its position + 1, and the next free position is followed by the UTF-8 length and
+ * bytes of a new string. When the marks are included every event ends with its start and end
+ * marks (line, column, index and the name as a string reference).
+ * </p>
+ */
+final class EventLog {
+
+    static final byte[] MAGIC = {'Y', 'E', 'V', 'L'};
+    static final int VERSION = 1;
+    static final int FLAG_MARKS = 1;
+
+    // the codes are part of the format and must not depend on the enum order
+    static final int STREAM_START = 1;
+    static final int STREAM_END = 2;
+    static final int DOCUMENT_START = 3;
+    static final int DOCUMENT_END = 4;
+    static final int ALIAS = 5;
+    static final int SCALAR = 6;
+    static final int SEQUENCE_START = 7;
+    static final int SEQUENCE_END = 8;
+    static final int MAPPING_START = 9;
+    static final int MAPPING_END = 10;
+    static final int COMMENT = 11;
+
+    private EventLog() {
+    }
+
+    static int code(Event.ID id) {
+        return switch (id) {
+            case StreamStart -> STREAM_START;
+            case StreamEnd -> STREAM_END;
+            case DocumentStart -> DOCUMENT_START;
+            case DocumentEnd -> DOCUMENT_END;
+            case Alias -> ALIAS;
+            case Scalar -> SCALAR;
+            case SequenceStart -> SEQUENCE_START;
+            case SequenceEnd -> SEQUENCE_END;
+            case MappingStart -> MAPPING_START;
+            case MappingEnd -> MAPPING_END;
+            case Comment -> COMMENT;
+        };
+    }
+}
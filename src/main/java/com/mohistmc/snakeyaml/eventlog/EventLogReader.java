@@ -0,0 +1,264 @@
+/**
+ * Copyright (c) 2008, SnakeYAML
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.mohistmc.snakeyaml.eventlog;
+
+import com.mohistmc.snakeyaml.DumperOptions;
+import com.mohistmc.snakeyaml.comments.CommentType;
+import com.mohistmc.snakeyaml.error.Mark;
+import com.mohistmc.snakeyaml.error.YAMLException;
+import com.mohistmc.snakeyaml.events.AliasEvent;
+import com.mohistmc.snakeyaml.events.CommentEvent;
+import com.mohistmc.snakeyaml.events.DocumentEndEvent;
+import com.mohistmc.snakeyaml.events.DocumentStartEvent;
+import com.mohistmc.snakeyaml.events.Event;
+import com.mohistmc.snakeyaml.events.ImplicitTuple;
+import com.mohistmc.snakeyaml.events.MappingEndEvent;
+import com.mohistmc.snakeyaml.events.MappingStartEvent;
+import com.mohistmc.snakeyaml.events.ScalarEvent;
+import com.mohistmc.snakeyaml.events.SequenceEndEvent;
+import com.mohistmc.snakeyaml.events.SequenceStartEvent;
+import com.mohistmc.snakeyaml.events.StreamEndEvent;
+import com.mohistmc.snakeyaml.events.StreamStartEvent;
+import com.mohistmc.snakeyaml.parser.Parser;
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replays the events written by {@link EventLogWriter}. It is a {@link Parser}, so it can be given
+ * to the {@link com.mohistmc.snakeyaml.composer.Composer} instead of the text parser and the YAML
+ * scanner is not involved at all.
+ * <p>
+ * A damaged or truncated log fails with a {@link YAMLException}.
+ * </p>
+ */
+public class EventLogReader implements Parser {
+
+    private static final int[] NO_BUFFER = new int[0];
+    private static final ImplicitTuple[] IMPLICIT = {new ImplicitTuple(false, false),
+            new ImplicitTuple(true, false), new ImplicitTuple(false, true), new ImplicitTuple(true, true)};
+    private static final DumperOptions.ScalarStyle[] SCALAR_STYLES = DumperOptions.ScalarStyle.values();
+    private static final DumperOptions.FlowStyle[] FLOW_STYLES = DumperOptions.FlowStyle.values();
+    private static final CommentType[] COMMENT_TYPES = CommentType.values();
+    private static final DumperOptions.Version[] VERSIONS = DumperOptions.Version.values();
+
+    private final InputStream in;
+    private final List<String> strings = new ArrayList<>();
+    private boolean includeMarks;
+    private boolean headerRead = false;
+    private boolean finished = false;
+    private Event currentEvent;
+
+    /**
+     * Create
+     *
+     * @param in - the source, it is not closed by the reader
+     */
+    public EventLogReader(InputStream in) {
+        if (in == null) {
+            throw new NullPointerException("InputStream must be provided");
+        }
+        this.in = in instanceof BufferedInputStream ? in : new BufferedInputStream(in);
+    }
+
+    @Override
+    public boolean checkEvent(Event.ID choice) {
+        peekEvent();
+        return currentEvent != null && currentEvent.is(choice);
+    }
+
+    @Override
+    public Event peekEvent() {
+        if (currentEvent == null && !finished) {
+            try {
+                currentEvent = readEvent();
+            } catch (IOException e) {
+                throw new YAMLException("Cannot read the event log", e);
+            } catch (YAMLException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                // the events reject some of the decoded values
+                throw new YAMLException("Corrupt event log: " + e, e);
+            }
+            if (currentEvent.is(Event.ID.StreamEnd)) {
+                finished = true;
+            }
+        }
+        return currentEvent;
+    }
+
+    @Override
+    public Event getEvent() {
+        peekEvent();
+        Event value = currentEvent;
+        currentEvent = null;
+        return value;
+    }
+
+    private void readHeader() throws IOException {
+        byte[] magic = in.readNBytes(EventLog.MAGIC.length);
+        if (!Arrays.equals(magic, EventLog.MAGIC)) {
+            throw new YAMLException("Not an event log");
+        }
+        int version = readByte();
+        if (version != EventLog.VERSION) {
+            throw new YAMLException("Unsupported event log version: " + version);
+        }
+        includeMarks = (readByte() & EventLog.FLAG_MARKS) != 0;
+        headerRead = true;
+    }
+
+    private Event readEvent() throws IOException {
+        if (!headerRead) {
+            readHeader();
+        }
+        int code = readVarInt();
+        switch (code) {
+            case EventLog.STREAM_START -> {
+                return new StreamStartEvent(readMark(), readMark());
+            }
+            case EventLog.STREAM_END -> {
+                return new StreamEndEvent(readMark(), readMark());
+            }
+            case EventLog.DOCUMENT_START -> {
+                boolean explicit = readByte() != 0;
+                int version = readVarInt();
+                int tagCount = readVarInt();
+                Map<String, String> tags = null;
+                if (tagCount > 0) {
+                    tags = new HashMap<>();
+                    for (int i = 1; i < tagCount; i++) {
+                        tags.put(readString(), readString());
+                    }
+                }
+                return new DocumentStartEvent(readMark(), readMark(), explicit,
+                        version == 0 ? null : element(VERSIONS, version - 1, "version"), tags);
+            }
+            case EventLog.DOCUMENT_END -> {
+                boolean explicit = readByte() != 0;
+                return new DocumentEndEvent(readMark(), readMark(), explicit);
+            }
+            case EventLog.ALIAS -> {
+                String anchor = readString();
+                return new AliasEvent(anchor, readMark(), readMark());
+            }
+            case EventLog.SCALAR -> {
+                String anchor = readString();
+                String tag = readString();
+                int flags = readByte();
+                String value = readString();
+                return new ScalarEvent(anchor, tag, IMPLICIT[flags & 3], value, readMark(), readMark(),
+                        element(SCALAR_STYLES, flags >> 2, "scalar style"));
+            }
+            case EventLog.SEQUENCE_START -> {
+                String anchor = readString();
+                String tag = readString();
+                int flags = readByte();
+                return new SequenceStartEvent(anchor, tag, (flags & 1) != 0, readMark(), readMark(),
+                        element(FLOW_STYLES, flags >> 1, "flow style"));
+            }
+            case EventLog.MAPPING_START -> {
+                String anchor = readString();
+                String tag = readString();
+                int flags = readByte();
+                return new MappingStartEvent(anchor, tag, (flags & 1) != 0, readMark(), readMark(),
+                        element(FLOW_STYLES, flags >> 1, "flow style"));
+            }
+            case EventLog.SEQUENCE_END -> {
+                return new SequenceEndEvent(readMark(), readMark());
+            }
+            case EventLog.MAPPING_END -> {
+                return new MappingEndEvent(readMark(), readMark());
+            }
+            case EventLog.COMMENT -> {
+                CommentType type = element(COMMENT_TYPES, readByte(), "comment type");
+                String value = readString();
+                return new CommentEvent(type, value, readMark(), readMark());
+            }
+            default -> throw new YAMLException("Unknown event code in the event log: " + code);
+        }
+    }
+
+    private static <T> T element(T[] values, int index, String name) {
+        if (index < 0 || index >= values.length) {
+            throw new YAMLException("Corrupt event log: invalid " + name + ": " + index);
+        }
+        return values[index];
+    }
+
+    private Mark readMark() throws IOException {
+        if (!includeMarks) {
+            return null;
+        }
+        int line = readVarInt();
+        if (line == 0) {
+            return null;
+        }
+        int column = readVarInt();
+        int index = readVarInt();
+        String name = readString();
+        return new Mark(name, index, line - 1, column, NO_BUFFER, 0);
+    }
+
+    private String readString() throws IOException {
+        int ref = readVarInt();
+        if (ref == 0) {
+            return null;
+        } else if (ref <= strings.size()) {
+            return strings.get(ref - 1);
+        } else if (ref == strings.size() + 1) {
+            int length = readVarInt();
+            if (length < 0) {
+                throw new YAMLException("Corrupt event log: invalid string length: " + length);
+            }
+            // a huge length fails at the end of the log, the bytes are read in chunks
+            byte[] bytes = in.readNBytes(length);
+            if (bytes.length != length) {
+                throw new EOFException("Unexpected end of the event log");
+            }
+            String value = new String(bytes, StandardCharsets.UTF_8);
+            strings.add(value);
+            return value;
+        } else {
+            throw new YAMLException("Corrupt event log: invalid string reference: " + ref);
+        }
+    }
+
+    private int readVarInt() throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = readByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new YAMLException("Corrupt event log: malformed varint");
+    }
+
+    private int readByte() throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            throw new EOFException("Unexpected end of the event log");
+        }
+        return b;
+    }
+}
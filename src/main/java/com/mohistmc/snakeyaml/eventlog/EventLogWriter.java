@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2008, SnakeYAML
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.mohistmc.snakeyaml.eventlog;
+
+import com.mohistmc.snakeyaml.emitter.Emitable;
+import com.mohistmc.snakeyaml.error.Mark;
+import com.mohistmc.snakeyaml.events.AliasEvent;
+import com.mohistmc.snakeyaml.events.CollectionStartEvent;
+import com.mohistmc.snakeyaml.events.CommentEvent;
+import com.mohistmc.snakeyaml.events.DocumentEndEvent;
+import com.mohistmc.snakeyaml.events.DocumentStartEvent;
+import com.mohistmc.snakeyaml.events.Event;
+import com.mohistmc.snakeyaml.events.ScalarEvent;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes the events in the compact binary format which is read by {@link EventLogReader}. The
+ * repeated strings (keys, tags, anchors and values) are written only once. See {@link EventLog} for
+ * the layout.
+ */
+public class EventLogWriter implements Emitable {
+
+    private final OutputStream out;
+    private final boolean includeMarks;
+    private final Map<String, Integer> strings = new HashMap<>();
+
+    /**
+     * Create and write the header
+     *
+     * @param out - the destination, it is not closed by the writer
+     * @param includeMarks - true to keep the positions of the events for error messages
+     * @throws IOException if the header cannot be written
+     */
+    public EventLogWriter(OutputStream out, boolean includeMarks) throws IOException {
+        if (out == null) {
+            throw new NullPointerException("OutputStream must be provided");
+        }
+        this.out = out instanceof BufferedOutputStream ? out : new BufferedOutputStream(out);
+        this.includeMarks = includeMarks;
+        this.out.write(EventLog.MAGIC);
+        this.out.write(EventLog.VERSION);
+        this.out.write(includeMarks ? EventLog.FLAG_MARKS : 0);
+    }
+
+    @Override
+    public void emit(Event event) throws IOException {
+        writeVarInt(EventLog.code(event.getEventId()));
+        switch (event.getEventId()) {
+            case DocumentStart -> {
+                DocumentStartEvent start = (DocumentStartEvent) event;
+                out.write(start.getExplicit() ? 1 : 0);
+                writeVarInt(start.getVersion() == null ? 0 : start.getVersion().ordinal() + 1);
+                Map<String, String> tags = start.getTags();
+                if (tags == null) {
+                    writeVarInt(0);
+                } else {
+                    writeVarInt(tags.size() + 1);
+                    for (Map.Entry<String, String> entry : tags.entrySet()) {
+                        writeString(entry.getKey());
+                        writeString(entry.getValue());
+                    }
+                }
+            }
+            case DocumentEnd -> out.write(((DocumentEndEvent) event).getExplicit() ? 1 : 0);
+            case Alias -> writeString(((AliasEvent) event).getAnchor());
+            case Scalar -> {
+                ScalarEvent scalar = (ScalarEvent) event;
+                writeString(scalar.getAnchor());
+                writeString(scalar.getTag());
+                int implicit = (scalar.getImplicit().canOmitTagInPlainScalar() ? 1 : 0)
+                        | (scalar.getImplicit().canOmitTagInNonPlainScalar() ? 2 : 0);
+                out.write(implicit | scalar.getScalarStyle().ordinal() << 2);
+                writeString(scalar.getValue());
+            }
+            case SequenceStart, MappingStart -> {
+                CollectionStartEvent start = (CollectionStartEvent) event;
+                writeString(start.getAnchor());
+                writeString(start.getTag());
+                out.write((start.getImplicit() ? 1 : 0) | start.getFlowStyle().ordinal() << 1);
+            }
+            case Comment -> {
+                CommentEvent comment = (CommentEvent) event;
+                out.write(comment.getCommentType().ordinal());
+                writeString(comment.getValue());
+            }
+            default -> {
+                // stream and collection end events have no fields
+            }
+        }
+        if (includeMarks) {
+            writeMark(event.getStartMark());
+            writeMark(event.getEndMark());
+        }
+    }
+
+    /**
+     * Write the buffered data to the destination
+     *
+     * @throws IOException if the data cannot be written
+     */
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void writeMark(Mark mark) throws IOException {
+        if (mark == null) {
+            writeVarInt(0);
+        } else {
+            writeVarInt(mark.getLine() + 1);
+            writeVarInt(mark.getColumn());
+            writeVarInt(mark.getIndex());
+            writeString(mark.getName());
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        Integer ref = strings.get(value);
+        if (ref != null) {
+            writeVarInt(ref);
+        } else {
+            ref = strings.size() + 1;
+            strings.put(value, ref);
+            writeVarInt(ref);
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
@@ -23,11 +23,11 @@ import com.mohistmc.snakeyaml.nodes.Node;
 import com.mohistmc.snakeyaml.nodes.NodeTuple;
 import com.mohistmc.snakeyaml.nodes.ScalarNode;
 import com.mohistmc.snakeyaml.nodes.SequenceNode;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -192,15 +192,20 @@ public class CompactConstructor extends Constructor {
      * @return name of the List property
      */
     protected String getSequencePropertyName(Class<?> bean) {
-        Set<Property> properties = getPropertyUtils().getProperties(bean);
-        properties.removeIf(property -> !List.class.isAssignableFrom(property.getType()));
+        // the properties may be shared, do not modify them
+        List<Property> properties = new ArrayList<>();
+        for (Property property : getPropertyUtils().getProperties(bean)) {
+            if (List.class.isAssignableFrom(property.getType())) {
+                properties.add(property);
+            }
+        }
         if (properties.isEmpty()) {
             throw new YAMLException("No list property found in " + bean);
         } else if (properties.size() > 1) {
             throw new YAMLException("Many list properties found in " + bean
                     + "; Please override getSequencePropertyName() to specify which property to use.");
         }
-        return properties.iterator().next().getName();
+        return properties.get(0).getName();
     }
 
     /**
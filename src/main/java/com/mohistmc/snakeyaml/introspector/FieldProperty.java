@@ -16,6 +16,9 @@ package com.mohistmc.snakeyaml.introspector;
 import com.mohistmc.snakeyaml.error.YAMLException;
 import com.mohistmc.snakeyaml.util.ArrayUtils;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.util.List;
 
@@ -25,27 +28,68 @@ import java.util.List;
  * going through accessor methods (setX, getX). The field may have any scope (public, package,
  * protected, private).
  * </p>
+ * <p>
+ * The field is accessed through method handles created once per property, the reflection is used
+ * only when a handle cannot be created (e.g. to write a final field) and to reject the invalid
+ * arguments with the same exceptions.
+ * </p>
  */
 public class FieldProperty extends GenericProperty {
 
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE =
+            MethodType.methodType(void.class, Object.class, Object.class);
+
     private final Field field;
+    // null when the handle cannot be created
+    private final MethodHandle getter;
+    private final MethodHandle setter;
 
     public FieldProperty(Field field) {
         super(field.getName(), field.getType(), field.getGenericType());
         this.field = field;
         field.setAccessible(true);
+        MethodHandle getter;
+        MethodHandle setter;
+        try {
+            getter = MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+        } catch (RuntimeException | IllegalAccessException e) {
+            getter = null;
+        }
+        try {
+            setter = MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (RuntimeException | IllegalAccessException e) {
+            setter = null;
+        }
+        this.getter = getter;
+        this.setter = setter;
     }
 
     @Override
     public void set(Object object, Object value) throws Exception {
-        field.set(object, value);
+        if (setter == null || !field.getDeclaringClass().isInstance(object)
+                || !isAssignable(field.getType(), value)) {
+            field.set(object, value);
+            return;
+        }
+        try {
+            setter.invokeExact(object, value);
+        } catch (Throwable e) {
+            // not expected, the arguments are checked
+            throw new YAMLException(e);
+        }
     }
 
     @Override
     public Object get(Object object) {
         try {
+            if (getter != null && field.getDeclaringClass().isInstance(object)) {
+                return (Object) getter.invokeExact(object);
+            }
             return field.get(object);
-        } catch (Exception e) {
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
             throw new YAMLException(
                     "Unable to access field " + field.getName() + " on object " + object + " : " + e);
         }
@@ -24,7 +24,7 @@ import java.lang.reflect.Type;
 public abstract class GenericProperty extends Property {
 
     private final Type genType;
-    private boolean actualClassesChecked;
+    private volatile boolean actualClassesChecked;
     private Class<?>[] actualClasses;
     public GenericProperty(String name, Class<?> aClass, Type aType) {
         super(name, aClass);
@@ -32,8 +32,10 @@ public abstract class GenericProperty extends Property {
         actualClassesChecked = aType == null;
     }
 
-    public Class<?>[] getActualTypeArguments() { // should we synchronize here ?
+    public Class<?>[] getActualTypeArguments() { // shared by the threads
         if (!actualClassesChecked) {
+            // the other threads may see only the complete result
+            Class<?>[] actualClasses = null;
             if (genType instanceof ParameterizedType parameterizedType) {
                 Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
                 if (actualTypeArguments.length > 0) {
@@ -71,8 +73,46 @@ public abstract class GenericProperty extends Property {
                     actualClasses[0] = getType().getComponentType();
                 }
             }
+            this.actualClasses = actualClasses;
             actualClassesChecked = true;
         }
         return actualClasses;
     }
+
+    /**
+     * Check whether reflection accepts the value for a parameter or a field of the given type
+     * (including the unboxing and the widening of the primitives)
+     *
+     * @param type - the type of the parameter or the field
+     * @param value - the value
+     * @return true when the value is accepted
+     */
+    static boolean isAssignable(Class<?> type, Object value) {
+        if (!type.isPrimitive()) {
+            return value == null || type.isInstance(value);
+        }
+        if (value == null) {
+            return false;
+        }
+        Class<?> source = value.getClass();
+        boolean isInt = source == Integer.class || source == Short.class || source == Byte.class
+                || source == Character.class;
+        if (type == Boolean.TYPE) {
+            return source == Boolean.class;
+        } else if (type == Character.TYPE) {
+            return source == Character.class;
+        } else if (type == Byte.TYPE) {
+            return source == Byte.class;
+        } else if (type == Short.TYPE) {
+            return source == Short.class || source == Byte.class;
+        } else if (type == Integer.TYPE) {
+            return isInt;
+        } else if (type == Long.TYPE) {
+            return isInt || source == Long.class;
+        } else if (type == Float.TYPE) {
+            return isInt || source == Long.class || source == Float.class;
+        } else {
+            return isInt || source == Long.class || source == Float.class || source == Double.class;
+        }
+    }
 }
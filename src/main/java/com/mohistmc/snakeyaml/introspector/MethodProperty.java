@@ -17,6 +17,10 @@ import com.mohistmc.snakeyaml.error.YAMLException;
 import com.mohistmc.snakeyaml.util.ArrayUtils;
 import java.beans.PropertyDescriptor;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.List;
@@ -28,12 +32,25 @@ import java.util.List;
  * only getter, or both. It is not possible to have a <code>MethodProperty</code> which has neither
  * setter nor getter.
  * </p>
+ * <p>
+ * The accessor methods are called through method handles created once per property, the
+ * reflection is used only when a method cannot be made accessible. The exceptions are the same as
+ * the ones of the reflection: the invalid arguments are rejected by it and the exceptions of the
+ * methods are wrapped in InvocationTargetException.
+ * </p>
  */
 public class MethodProperty extends GenericProperty {
 
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE =
+            MethodType.methodType(void.class, Object.class, Object.class);
+
     private final PropertyDescriptor property;
     private final boolean readable;
     private final boolean writable;
+    // null when the method is missing or not accessible
+    private final MethodHandle getter;
+    private final MethodHandle setter;
 
     public MethodProperty(PropertyDescriptor property) {
         super(property.getName(), property.getPropertyType(),
@@ -41,6 +58,18 @@ public class MethodProperty extends GenericProperty {
         this.property = property;
         this.readable = property.getReadMethod() != null;
         this.writable = property.getWriteMethod() != null;
+        this.getter = readable ? createHandle(property.getReadMethod(), GETTER_TYPE) : null;
+        this.setter = writable ? createHandle(property.getWriteMethod(), SETTER_TYPE) : null;
+    }
+
+    private static MethodHandle createHandle(Method method, MethodType type) {
+        try {
+            method.setAccessible(true);// issue 50
+            return MethodHandles.lookup().unreflect(method).asType(type);
+        } catch (RuntimeException | IllegalAccessException e) {
+            // not accessible (e.g. a method of a module which is not open), keep the reflection
+            return null;
+        }
     }
 
     private static Type discoverGenericType(PropertyDescriptor property) {
@@ -69,11 +98,29 @@ public class MethodProperty extends GenericProperty {
             throw new YAMLException(
                     "No writable property '" + getName() + "' on class: " + object.getClass().getName());
         }
-        property.getWriteMethod().invoke(object, value);
+        Method method = property.getWriteMethod();
+        if (setter == null || !method.getDeclaringClass().isInstance(object)
+                || !isAssignable(method.getParameterTypes()[0], value)) {
+            method.invoke(object, value);
+            return;
+        }
+        try {
+            setter.invokeExact(object, value);
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
     }
 
     @Override
     public Object get(Object object) {
+        if (getter != null && property.getReadMethod().getDeclaringClass().isInstance(object)) {
+            try {
+                return (Object) getter.invokeExact(object);
+            } catch (Throwable e) {
+                throw new YAMLException("Unable to find getter for property '" + property.getName()
+                        + "' on object " + object + ":" + new InvocationTargetException(e));
+            }
+        }
         try {
             property.getReadMethod().setAccessible(true);// issue 50
             return property.getReadMethod().invoke(object);
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2008, SnakeYAML
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.mohistmc.snakeyaml.introspector;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The properties of a class shared by all the {@link PropertyUtils}. The metadata is kept by a
+ * {@link ClassValue}, so it is referenced only from its class and it is released together with the
+ * class loader of the class (reloading a plugin does not keep the old classes).
+ * <p>
+ * The values are created outside of this class, the first created value is kept when several
+ * threads create it at the same time.
+ * </p>
+ */
+final class PropertyMetadata {
+
+    private static final BeanAccess[] ACCESSES = BeanAccess.values();
+    private static final ClassValue<PropertyMetadata> METADATA = new ClassValue<>() {
+        @Override
+        protected PropertyMetadata computeValue(Class<?> type) {
+            return new PropertyMetadata();
+        }
+    };
+
+    private final AtomicReferenceArray<Map<String, Property>> propertiesMaps =
+            new AtomicReferenceArray<>(ACCESSES.length);
+    // by the access and allowReadOnlyProperties
+    private final AtomicReferenceArray<Set<Property>> propertySets =
+            new AtomicReferenceArray<>(ACCESSES.length * 2);
+
+    private PropertyMetadata() {
+    }
+
+    /**
+     * @param type - the class
+     * @return the metadata of the class
+     */
+    static PropertyMetadata of(Class<?> type) {
+        return METADATA.get(type);
+    }
+
+    /**
+     * @param bAccess - the access
+     * @return the properties by their names or <code>null</code> when they are not created yet
+     */
+    Map<String, Property> getPropertiesMap(BeanAccess bAccess) {
+        return propertiesMaps.get(bAccess.ordinal());
+    }
+
+    /**
+     * Keep the properties
+     *
+     * @param bAccess - the access
+     * @param properties - the created properties
+     * @return the kept properties, they are not the given ones when another thread was faster
+     */
+    Map<String, Property> putPropertiesMap(BeanAccess bAccess, Map<String, Property> properties) {
+        if (propertiesMaps.compareAndSet(bAccess.ordinal(), null, properties)) {
+            return properties;
+        }
+        return propertiesMaps.get(bAccess.ordinal());
+    }
+
+    /**
+     * @param bAccess - the access
+     * @param allowReadOnlyProperties - whether the read only properties are included
+     * @return the sorted readable properties or <code>null</code> when they are not created yet
+     */
+    Set<Property> getPropertySet(BeanAccess bAccess, boolean allowReadOnlyProperties) {
+        return propertySets.get(index(bAccess, allowReadOnlyProperties));
+    }
+
+    /**
+     * Keep the readable properties
+     *
+     * @param bAccess - the access
+     * @param allowReadOnlyProperties - whether the read only properties are included
+     * @param properties - the created properties
+     * @return the kept properties, they are not the given ones when another thread was faster
+     */
+    Set<Property> putPropertySet(BeanAccess bAccess, boolean allowReadOnlyProperties,
+            Set<Property> properties) {
+        int index = index(bAccess, allowReadOnlyProperties);
+        if (propertySets.compareAndSet(index, null, properties)) {
+            return properties;
+        }
+        return propertySets.get(index);
+    }
+
+    private static int index(BeanAccess bAccess, boolean allowReadOnlyProperties) {
+        return bAccess.ordinal() * 2 + (allowReadOnlyProperties ? 1 : 0);
+    }
+}
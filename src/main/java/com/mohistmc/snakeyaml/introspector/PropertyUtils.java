@@ -23,21 +23,33 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.Getter;
 
+/**
+ * Finds the properties of the classes.
+ * <p>
+ * The properties found by this class (not by a subclass, which may change how they are found) are
+ * shared by all the instances through {@link PropertyMetadata}, so a new Yaml does not introspect
+ * the same classes again. The shared properties are unmodifiable and they are found for the
+ * requested {@link BeanAccess}. An instance may be used by several threads.
+ * </p>
+ */
 public class PropertyUtils {
 
     private static final String TRANSIENT = "transient";
     private final Map<Class<?>, Map<String, com.mohistmc.snakeyaml.introspector.Property>> propertiesCache =
-            new HashMap<>();
+            new ConcurrentHashMap<>();
     private final Map<Class<?>, Set<com.mohistmc.snakeyaml.introspector.Property>> readableProperties =
-            new HashMap<>();
+            new ConcurrentHashMap<>();
     private final PlatformFeatureDetector platformFeatureDetector;
+    // the subclasses may override how the properties are created
+    private final boolean shared = getClass() == PropertyUtils.class;
     private com.mohistmc.snakeyaml.introspector.BeanAccess beanAccess = com.mohistmc.snakeyaml.introspector.BeanAccess.DEFAULT;
     @Getter
     private boolean allowReadOnlyProperties = false;
@@ -63,10 +75,25 @@ public class PropertyUtils {
     }
 
     protected Map<String, com.mohistmc.snakeyaml.introspector.Property> getPropertiesMap(Class<?> type, com.mohistmc.snakeyaml.introspector.BeanAccess bAccess) {
-        if (propertiesCache.containsKey(type)) {
-            return propertiesCache.get(type);
+        if (shared) {
+            PropertyMetadata metadata = PropertyMetadata.of(type);
+            Map<String, Property> properties = metadata.getPropertiesMap(bAccess);
+            if (properties == null) {
+                properties = metadata.putPropertiesMap(bAccess,
+                        Collections.unmodifiableMap(createPropertiesMap(type, bAccess)));
+            }
+            return properties;
+        }
+        Map<String, Property> properties = propertiesCache.get(type);
+        if (properties != null) {
+            return properties;
         }
+        properties = createPropertiesMap(type, bAccess);
+        Map<String, Property> cached = propertiesCache.putIfAbsent(type, properties);
+        return cached != null ? cached : properties;
+    }
 
+    private Map<String, Property> createPropertiesMap(Class<?> type, BeanAccess bAccess) {
         Map<String, com.mohistmc.snakeyaml.introspector.Property> properties = new LinkedHashMap<>();
         boolean inaccessableFieldsExist = false;
         if (bAccess == com.mohistmc.snakeyaml.introspector.BeanAccess.FIELD) {
@@ -91,6 +118,13 @@ public class PropertyUtils {
                 }
             } catch (IntrospectionException e) {
                 throw new YAMLException(e);
+            } finally {
+                if (shared) {
+                    // the Introspector keeps the classes until its caches are flushed
+                    for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                        Introspector.flushFromCaches(c);
+                    }
+                }
             }
 
             // add public fields
@@ -110,7 +144,6 @@ public class PropertyUtils {
         if (properties.isEmpty() && inaccessableFieldsExist) {
             throw new YAMLException("No JavaBean properties found in " + type.getName());
         }
-        propertiesCache.put(type, properties);
         return properties;
     }
 
@@ -123,12 +156,22 @@ public class PropertyUtils {
     }
 
     public Set<com.mohistmc.snakeyaml.introspector.Property> getProperties(Class<? extends Object> type, com.mohistmc.snakeyaml.introspector.BeanAccess bAccess) {
-        if (readableProperties.containsKey(type)) {
-            return readableProperties.get(type);
+        if (shared) {
+            PropertyMetadata metadata = PropertyMetadata.of(type);
+            Set<Property> properties = metadata.getPropertySet(bAccess, allowReadOnlyProperties);
+            if (properties == null) {
+                properties = metadata.putPropertySet(bAccess, allowReadOnlyProperties,
+                        Collections.unmodifiableSet(createPropertySet(type, bAccess)));
+            }
+            return properties;
         }
-        Set<com.mohistmc.snakeyaml.introspector.Property> properties = createPropertySet(type, bAccess);
-        readableProperties.put(type, properties);
-        return properties;
+        Set<Property> properties = readableProperties.get(type);
+        if (properties != null) {
+            return properties;
+        }
+        properties = createPropertySet(type, bAccess);
+        Set<Property> cached = readableProperties.putIfAbsent(type, properties);
+        return cached != null ? cached : properties;
     }
 
     protected Set<com.mohistmc.snakeyaml.introspector.Property> createPropertySet(Class<? extends Object> type, com.mohistmc.snakeyaml.introspector.BeanAccess bAccess) {
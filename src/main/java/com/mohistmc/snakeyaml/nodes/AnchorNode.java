@@ -44,4 +44,9 @@ public class AnchorNode extends com.mohistmc.snakeyaml.nodes.Node {
         return NodeId.anchor;
     }
 
+    @Override
+    protected long hashContent(long hash) {
+        return StructuralHash.add(hash, realNode.getStructuralHash());
+    }
+
 }
@@ -15,7 +15,11 @@ package com.mohistmc.snakeyaml.nodes;
 
 import com.mohistmc.snakeyaml.DumperOptions;
 import com.mohistmc.snakeyaml.error.Mark;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import lombok.Getter;
 
 /**
@@ -32,6 +36,8 @@ public abstract class CollectionNode<T> extends Node {
      * @return <code>true</code> for flow style, <code>false</code> for block style.
      */
     private DumperOptions.FlowStyle flowStyle;
+    // the structural hash of the complete collection, 0 when it is not known
+    private long structuralHash;
 
     /**
      * Create
@@ -73,4 +79,112 @@ public abstract class CollectionNode<T> extends Node {
     public void setEndMark(Mark endMark) {
         this.endMark = endMark;
     }
+
+    @Override
+    public void setTag(Tag tag) {
+        super.setTag(tag);
+        this.structuralHash = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The hash is kept. The composers compute it when the collection is complete (see
+     * {@link #updateStructuralHash()}), otherwise it is computed on the first call without
+     * recursion, so a deep tree can not overflow the stack. It is reset by {@link #setTag(Tag)} and
+     * by replacing the value, it is not updated when the children are modified afterwards.
+     * </p>
+     */
+    @Override
+    public long getStructuralHash() {
+        if (structuralHash == 0) {
+            computeStructuralHash();
+        }
+        return structuralHash;
+    }
+
+    /**
+     * Compute the structural hash of the complete collection from the hashes of its children. The
+     * composers call it when they close the collection, the children are already complete. A child
+     * collection without a hash is a collection which contains this one (an alias to it) and it is
+     * hashed as recursive.
+     */
+    public void updateStructuralHash() {
+        this.structuralHash = hashChildren();
+    }
+
+    /**
+     * Set the structural hash computed by a composer which keeps the nodes in its own form
+     *
+     * @param structuralHash - the hash, 0 to compute it on demand
+     */
+    public void setStructuralHash(long structuralHash) {
+        this.structuralHash = structuralHash;
+    }
+
+    void clearStructuralHash() {
+        this.structuralHash = 0;
+    }
+
+    /**
+     * @return the amount of the child nodes, a mapping has a key and a value for every entry
+     */
+    int structuralChildCount() {
+        return getValue().size();
+    }
+
+    /**
+     * @param index - index of the child
+     * @return the child node
+     */
+    Node structuralChild(int index) {
+        return (Node) getValue().get(index);
+    }
+
+    private long hashChildren() {
+        long hash = StructuralHash.add(StructuralHash.start(getNodeId(), getTag()), getValue().size());
+        for (int i = 0, count = structuralChildCount(); i < count; i++) {
+            Node child = structuralChild(i);
+            if (child instanceof CollectionNode<?> collection && collection.structuralHash == 0) {
+                hash = StructuralHash.add(hash, StructuralHash.RECURSIVE);
+            } else {
+                hash = StructuralHash.add(hash, child.getStructuralHash());
+            }
+        }
+        // 0 stands for an unknown hash
+        return hash != 0 ? hash : 1;
+    }
+
+    /**
+     * Hash the collections of the subtree which have no hash yet, children first. The walk keeps
+     * its own stack instead of recursion.
+     */
+    private void computeStructuralHash() {
+        List<CollectionNode<?>> stack = new ArrayList<>();
+        // the index of the next child of every collection in the stack
+        int[] next = new int[16];
+        // the collections in the stack, an alias to them is recursive
+        Set<Node> open = new HashSet<>();
+        stack.add(this);
+        open.add(this);
+        while (!stack.isEmpty()) {
+            int top = stack.size() - 1;
+            CollectionNode<?> node = stack.get(top);
+            if (next[top] < node.structuralChildCount()) {
+                Node child = node.structuralChild(next[top]++);
+                if (child instanceof CollectionNode<?> collection && collection.structuralHash == 0
+                        && open.add(collection)) {
+                    if (stack.size() == next.length) {
+                        next = Arrays.copyOf(next, next.length * 2);
+                    }
+                    next[stack.size()] = 0;
+                    stack.add(collection);
+                }
+            } else {
+                node.structuralHash = node.hashChildren();
+                open.remove(node);
+                stack.remove(top);
+            }
+        }
+    }
 }
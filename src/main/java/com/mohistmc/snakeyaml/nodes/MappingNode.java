@@ -79,6 +79,27 @@ public class MappingNode extends CollectionNode<com.mohistmc.snakeyaml.nodes.Nod
         }
     }
 
+    /**
+     * Setter, the structural hash is computed again for the new entries
+     *
+     * @param value - the entries of this map
+     */
+    public void setValue(List<NodeTuple> value) {
+        this.value = value;
+        clearStructuralHash();
+    }
+
+    @Override
+    int structuralChildCount() {
+        return value.size() * 2;
+    }
+
+    @Override
+    Node structuralChild(int index) {
+        NodeTuple entry = value.get(index / 2);
+        return (index & 1) == 0 ? entry.keyNode() : entry.valueNode();
+    }
+
     @Override
     public String toString() {
         String values;
@@ -79,38 +79,9 @@ public abstract class Node {
     @Getter
     private String anchor;
     /**
-     * -- GETTER --
-     *  The ordered list of in-line comments. The first of which appears at the end of the line
-     *  respresent by this node. The rest are in the following lines, indented per the Spec to indicate
-     *  they are continuation of the inline comment.
-     *
-     * @return the comment line list.
-     */
-    @Setter
-    @Getter
-    private List<CommentLine> inLineComments;
-    /**
-     * -- GETTER --
-     *  The ordered list of blank lines and block comments (full line) that appear before this node.
-     *
-     * @return the comment line list.
-     */
-    @Setter
-    @Getter
-    private List<CommentLine> blockComments;
-    /**
-     * -- GETTER --
-     *  The ordered list of blank lines and block comments (full line) that appear AFTER this node.
-     *  <p>
-     *  NOTE: these comment should occur only in the last node in a document, when walking the node
-     *  tree "in order"
-     *
-     * @return the comment line list.
+     * the comments of this node, it is created only when the node has a comment
      */
-    // End Comments are only on the last node in a document
-    @Setter
-    @Getter
-    private List<CommentLine> endComments;
+    private Comments comments;
 
     public Node(com.mohistmc.snakeyaml.nodes.Tag tag, Mark startMark, Mark endMark) {
         setTag(tag);
@@ -120,9 +91,6 @@ public abstract class Node {
         this.twoStepsConstruction = false;
         this.resolved = true;
         this.useClassConstructor = null;
-        this.inLineComments = null;
-        this.blockComments = null;
-        this.endComments = null;
     }
 
     /**
@@ -140,6 +108,99 @@ public abstract class Node {
         this.tag = tag;
     }
 
+    /**
+     * Hash of the content of this node: its kind, its tag, the value of a scalar and the hashes of
+     * the children of a collection in their order. Equal documents have equal hashes in every run,
+     * so it tells cheaply whether a reloaded document has changed. The comments, the styles, the
+     * anchors and the marks are not a part of the hash.
+     * <p>
+     * The hash of a collection is computed by the composers when the collection is complete and
+     * kept, see {@link CollectionNode#getStructuralHash()}.
+     * </p>
+     *
+     * @return the 64-bit hash of the subtree
+     */
+    public long getStructuralHash() {
+        return hashContent(StructuralHash.start(getNodeId(), tag));
+    }
+
+    /**
+     * Add the content of this node to its structural hash
+     *
+     * @param hash - the hash of the kind and the tag
+     * @return the hash with the value or the children
+     */
+    protected long hashContent(long hash) {
+        return hash;
+    }
+
+    /**
+     * The ordered list of in-line comments. The first of which appears at the end of the line
+     * respresent by this node. The rest are in the following lines, indented per the Spec to indicate
+     * they are continuation of the inline comment.
+     *
+     * @return the comment line list.
+     */
+    public List<CommentLine> getInLineComments() {
+        return comments == null ? null : comments.inLine;
+    }
+
+    public void setInLineComments(List<CommentLine> inLineComments) {
+        if (inLineComments != null || comments != null) {
+            comments().inLine = inLineComments;
+            releaseComments();
+        }
+    }
+
+    /**
+     * The ordered list of blank lines and block comments (full line) that appear before this node.
+     *
+     * @return the comment line list.
+     */
+    public List<CommentLine> getBlockComments() {
+        return comments == null ? null : comments.block;
+    }
+
+    public void setBlockComments(List<CommentLine> blockComments) {
+        if (blockComments != null || comments != null) {
+            comments().block = blockComments;
+            releaseComments();
+        }
+    }
+
+    /**
+     * The ordered list of blank lines and block comments (full line) that appear AFTER this node.
+     * <p>
+     * NOTE: these comment should occur only in the last node in a document, when walking the node
+     * tree "in order"
+     *
+     * @return the comment line list.
+     */
+    public List<CommentLine> getEndComments() {
+        return comments == null ? null : comments.end;
+    }
+
+    // End Comments are only on the last node in a document
+    public void setEndComments(List<CommentLine> endComments) {
+        if (endComments != null || comments != null) {
+            comments().end = endComments;
+            releaseComments();
+        }
+    }
+
+    private Comments comments() {
+        if (comments == null) {
+            comments = new Comments();
+        }
+        return comments;
+    }
+
+    private void releaseComments() {
+        if (comments.inLine == null && comments.block == null && comments.end == null) {
+            comments = null;
+        }
+    }
+
     /**
      * Node is only equal to itself
      */
@@ -172,4 +233,10 @@ public abstract class Node {
         return useClassConstructor;
     }
 
+    private static final class Comments {
+
+        private List<CommentLine> inLine;
+        private List<CommentLine> block;
+        private List<CommentLine> end;
+    }
 }
@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2008, SnakeYAML
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.mohistmc.snakeyaml.nodes;
+
+import com.mohistmc.snakeyaml.DumperOptions;
+import com.mohistmc.snakeyaml.error.Mark;
+import lombok.Getter;
+
+/**
+ * Scalar node of an int or a float whose value was parsed while it was resolved (see
+ * {@link com.mohistmc.snakeyaml.resolver.Resolver#resolveScalar(String, boolean)}). The standard
+ * constructors of ints and floats use the number instead of parsing the value again.
+ */
+public class ParsedScalarNode extends ScalarNode {
+
+    /**
+     * -- GETTER --
+     *  The parsed value, it is the same object the constructor creates from the value
+     *
+     * @return Integer, Long, BigInteger or Double
+     */
+    @Getter
+    private final Number number;
+
+    public ParsedScalarNode(Tag tag, boolean resolved, String value, Number number, Mark startMark,
+                            Mark endMark, DumperOptions.ScalarStyle style) {
+        super(tag, resolved, value, startMark, endMark, style);
+        if (number == null) {
+            throw new NullPointerException("Number must be provided");
+        }
+        this.number = number;
+    }
+}
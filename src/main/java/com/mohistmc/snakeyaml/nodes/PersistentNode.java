@@ -0,0 +1,456 @@
+/**
+ * Copyright (c) 2008, SnakeYAML
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.mohistmc.snakeyaml.nodes;
+
+import com.mohistmc.snakeyaml.DumperOptions;
+import com.mohistmc.snakeyaml.comments.CommentLine;
+import com.mohistmc.snakeyaml.error.YAMLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * Immutable node tree. A change ({@link #with(List, PersistentNode)},
+ * {@link #without(List)}) returns a new root which shares all the unchanged subtrees with the
+ * original one, so many variants of the same template cost only the changed paths.
+ * <p>
+ * The tree is created from a composed {@link Node} with {@link #of(Node)} and turned back into
+ * regular nodes with {@link #toNode()} to be constructed or serialized. A node referenced by aliases
+ * stays a single shared node, but a change replaces only the node on the path: the other
+ * references keep the previous version. The marks are not kept.
+ * </p>
+ */
+public final class PersistentNode {
+
+    private static final PersistentNode[] NO_CHILDREN = new PersistentNode[0];
+
+    /**
+     * -- GETTER --
+     *  Get the kind of the node
+     *
+     * @return scalar, sequence or mapping
+     */
+    @Getter
+    private final NodeId nodeId;
+    /**
+     * -- GETTER --
+     *  Tag of this node
+     *
+     * @return the tag
+     */
+    @Getter
+    private final Tag tag;
+    private final boolean resolved;
+    /**
+     * -- GETTER --
+     *  Value of a scalar
+     *
+     * @return the value or <code>null</code> for a collection
+     */
+    @Getter
+    private final String value;
+    private final DumperOptions.ScalarStyle scalarStyle;
+    private final DumperOptions.FlowStyle flowStyle;
+    private final boolean merged;
+    private final String anchor;
+    // for a mapping the key and the value of every entry are next to each other
+    private final PersistentNode[] children;
+    private final List<CommentLine> blockComments;
+    private final List<CommentLine> inLineComments;
+    private final List<CommentLine> endComments;
+
+    private PersistentNode(Node node, PersistentNode[] children) {
+        this.nodeId = node.getNodeId();
+        this.tag = node.getTag();
+        this.resolved = node.resolved;
+        this.value = node instanceof ScalarNode scalar ? scalar.getValue() : null;
+        this.scalarStyle = node instanceof ScalarNode scalar ? scalar.getScalarStyle() : null;
+        this.flowStyle = node instanceof CollectionNode<?> collection ? collection.getFlowStyle() : null;
+        this.merged = node instanceof MappingNode mapping && mapping.isMerged();
+        this.anchor = node.getAnchor();
+        this.children = children;
+        this.blockComments = copy(node.getBlockComments());
+        this.inLineComments = copy(node.getInLineComments());
+        this.endComments = copy(node.getEndComments());
+    }
+
+    private PersistentNode(PersistentNode origin, PersistentNode[] children) {
+        this.nodeId = origin.nodeId;
+        this.tag = origin.tag;
+        this.resolved = origin.resolved;
+        this.value = origin.value;
+        this.scalarStyle = origin.scalarStyle;
+        this.flowStyle = origin.flowStyle;
+        this.merged = origin.merged;
+        this.anchor = origin.anchor;
+        this.children = children;
+        this.blockComments = origin.blockComments;
+        this.inLineComments = origin.inLineComments;
+        this.endComments = origin.endComments;
+    }
+
+    private PersistentNode(NodeId nodeId, Tag tag, String value, DumperOptions.ScalarStyle scalarStyle,
+                           DumperOptions.FlowStyle flowStyle) {
+        this.nodeId = nodeId;
+        this.tag = tag;
+        this.resolved = true;
+        this.value = value;
+        this.scalarStyle = scalarStyle;
+        this.flowStyle = flowStyle;
+        this.merged = false;
+        this.anchor = null;
+        this.children = NO_CHILDREN;
+        this.blockComments = null;
+        this.inLineComments = null;
+        this.endComments = null;
+    }
+
+    /**
+     * Create the immutable copy of a node tree
+     *
+     * @param node - the root of the tree
+     * @return the immutable tree
+     * @throws YAMLException if the tree is recursive
+     */
+    public static PersistentNode of(Node node) {
+        if (node == null) {
+            throw new NullPointerException("Node must be provided");
+        }
+        return of(node, new IdentityHashMap<>());
+    }
+
+    private static PersistentNode of(Node node, Map<Node, PersistentNode> done) {
+        if (node instanceof AnchorNode anchorNode) {
+            node = anchorNode.getRealNode();
+        }
+        PersistentNode result = done.get(node);
+        if (result != null) {
+            return result;
+        }
+        if (done.containsKey(node)) {
+            throw new YAMLException("Recursive node trees can not be persistent: " + node.getStartMark());
+        }
+        done.put(node, null);
+        PersistentNode[] children = NO_CHILDREN;
+        if (node instanceof SequenceNode sequence) {
+            List<Node> items = sequence.getValue();
+            children = new PersistentNode[items.size()];
+            for (int i = 0; i < children.length; i++) {
+                children[i] = of(items.get(i), done);
+            }
+        } else if (node instanceof MappingNode mapping) {
+            List<NodeTuple> entries = mapping.getValue();
+            children = new PersistentNode[entries.size() * 2];
+            for (int i = 0; i < entries.size(); i++) {
+                children[i * 2] = of(entries.get(i).keyNode(), done);
+                children[i * 2 + 1] = of(entries.get(i).valueNode(), done);
+            }
+        }
+        result = new PersistentNode(node, children);
+        done.put(node, result);
+        return result;
+    }
+
+    /**
+     * Create a plain string scalar
+     *
+     * @param value - the value of the scalar
+     * @return the scalar
+     */
+    public static PersistentNode scalar(String value) {
+        return scalar(Tag.STR, value, DumperOptions.ScalarStyle.PLAIN);
+    }
+
+    /**
+     * Create a scalar
+     *
+     * @param tag - the tag of the scalar
+     * @param value - the value of the scalar
+     * @param style - the style of the scalar
+     * @return the scalar
+     */
+    public static PersistentNode scalar(Tag tag, String value, DumperOptions.ScalarStyle style) {
+        if (tag == null) {
+            throw new NullPointerException("Tag must be provided");
+        }
+        if (value == null) {
+            throw new NullPointerException("Value must be provided");
+        }
+        if (style == null) {
+            throw new NullPointerException("Scalar style must be provided");
+        }
+        return new PersistentNode(NodeId.scalar, tag, value, style, null);
+    }
+
+    /**
+     * Create an empty mapping
+     *
+     * @param flowStyle - the style of the mapping
+     * @return the empty mapping
+     */
+    public static PersistentNode mapping(DumperOptions.FlowStyle flowStyle) {
+        if (flowStyle == null) {
+            throw new NullPointerException("Flow style must be provided");
+        }
+        return new PersistentNode(NodeId.mapping, Tag.MAP, null, null, flowStyle);
+    }
+
+    /**
+     * Get the amount of the children. For a mapping it is twice the amount of the entries.
+     *
+     * @return the amount of the child nodes (0 for a scalar)
+     */
+    public int size() {
+        return children.length;
+    }
+
+    /**
+     * Get the children of a collection. For a mapping the key of the entry <code>i</code> has the
+     * index <code>2 * i</code> and its value <code>2 * i + 1</code>.
+     *
+     * @return the unmodifiable list of the children
+     */
+    public List<PersistentNode> getChildren() {
+        return Collections.unmodifiableList(Arrays.asList(children));
+    }
+
+    /**
+     * Find a node. Every element of the path is either the value of a scalar key of a mapping (the
+     * merged mappings are not searched) or the index in a sequence.
+     *
+     * @param path - the keys and the indices from this node
+     * @return the node or <code>null</code> when there is no such node
+     */
+    public PersistentNode get(List<String> path) {
+        PersistentNode node = this;
+        for (String key : path) {
+            int index = node.indexOf(key);
+            if (index < 0) {
+                return null;
+            }
+            node = node.children[index];
+        }
+        return node;
+    }
+
+    /**
+     * Find a node
+     *
+     * @param path - the keys and the indices separated by '.'
+     * @return the node or <code>null</code> when there is no such node
+     * @see #get(List)
+     */
+    public PersistentNode get(String path) {
+        return get(split(path));
+    }
+
+    /**
+     * Set the value at the path. The missing mappings on the path are created, the entry is added at
+     * the end of its mapping when it does not exist. Only the nodes on the path are copied.
+     *
+     * @param path - the keys and the indices from this node, not empty
+     * @param value - the new value
+     * @return the new root
+     * @throws YAMLException if the path goes through a scalar or outside a sequence
+     */
+    public PersistentNode with(List<String> path, PersistentNode value) {
+        if (value == null) {
+            throw new NullPointerException("Value must be provided");
+        }
+        if (path.isEmpty()) {
+            throw new YAMLException("Path must not be empty");
+        }
+        return with(path, 0, value);
+    }
+
+    /**
+     * Set the value at the path
+     *
+     * @param path - the keys and the indices separated by '.'
+     * @param value - the new value
+     * @return the new root
+     * @see #with(List, PersistentNode)
+     */
+    public PersistentNode with(String path, PersistentNode value) {
+        return with(split(path), value);
+    }
+
+    /**
+     * Remove the node at the path. Only the nodes on the path are copied.
+     *
+     * @param path - the keys and the indices from this node, not empty
+     * @return the new root or this node when there is nothing to remove
+     */
+    public PersistentNode without(List<String> path) {
+        if (path.isEmpty()) {
+            throw new YAMLException("Path must not be empty");
+        }
+        PersistentNode result = without(path, 0);
+        return result != null ? result : this;
+    }
+
+    /**
+     * Remove the node at the path
+     *
+     * @param path - the keys and the indices separated by '.'
+     * @return the new root or this node when there is nothing to remove
+     * @see #without(List)
+     */
+    public PersistentNode without(String path) {
+        return without(split(path));
+    }
+
+    private PersistentNode with(List<String> path, int depth, PersistentNode newValue) {
+        String key = path.get(depth);
+        boolean last = depth == path.size() - 1;
+        int index = indexOf(key);
+        if (index < 0 && nodeId != NodeId.mapping) {
+            throw new YAMLException("Path " + path + " does not exist in " + nodeId + " at '" + key + "'");
+        }
+        PersistentNode child;
+        if (last) {
+            child = newValue;
+        } else {
+            PersistentNode current = index >= 0 ? children[index] : mapping(DumperOptions.FlowStyle.BLOCK);
+            child = current.with(path, depth + 1, newValue);
+        }
+        PersistentNode[] copy;
+        if (index >= 0) {
+            if (children[index] == child) {
+                return this;
+            }
+            copy = children.clone();
+            copy[index] = child;
+        } else {
+            copy = Arrays.copyOf(children, children.length + 2);
+            copy[children.length] = scalar(key);
+            copy[children.length + 1] = child;
+        }
+        return new PersistentNode(this, copy);
+    }
+
+    private PersistentNode without(List<String> path, int depth) {
+        int index = indexOf(path.get(depth));
+        if (index < 0) {
+            return null;
+        }
+        PersistentNode[] copy;
+        if (depth == path.size() - 1) {
+            // a mapping drops the key with the value
+            int from = nodeId == NodeId.mapping ? index - 1 : index;
+            copy = new PersistentNode[children.length - (index - from + 1)];
+            System.arraycopy(children, 0, copy, 0, from);
+            System.arraycopy(children, index + 1, copy, from, children.length - index - 1);
+        } else {
+            PersistentNode child = children[index].without(path, depth + 1);
+            if (child == null) {
+                return null;
+            }
+            copy = children.clone();
+            copy[index] = child;
+        }
+        return new PersistentNode(this, copy);
+    }
+
+    /**
+     * @return index of the child (the value for a mapping) or -1
+     */
+    private int indexOf(String key) {
+        if (nodeId == NodeId.mapping) {
+            for (int i = 0; i < children.length; i += 2) {
+                if (key.equals(children[i].value)) {
+                    return i + 1;
+                }
+            }
+        } else if (nodeId == NodeId.sequence) {
+            try {
+                int index = Integer.parseInt(key);
+                if (index >= 0 && index < children.length) {
+                    return index;
+                }
+            } catch (NumberFormatException ignored) {
+                // not an index
+            }
+        }
+        return -1;
+    }
+
+    private static List<String> split(String path) {
+        if (path == null) {
+            throw new NullPointerException("Path must be provided");
+        }
+        return Arrays.asList(path.split("\\.", -1));
+    }
+
+    private static List<CommentLine> copy(List<CommentLine> comments) {
+        return comments == null || comments.isEmpty() ? null : List.copyOf(comments);
+    }
+
+    /**
+     * Create the regular nodes of this tree. Every call creates new nodes, they can be modified.
+     *
+     * @return the root of the new node tree
+     */
+    public Node toNode() {
+        return toNode(new IdentityHashMap<>());
+    }
+
+    private Node toNode(Map<PersistentNode, Node> done) {
+        Node node = done.get(this);
+        if (node != null) {
+            return node;
+        }
+        switch (nodeId) {
+            case scalar -> node = new ScalarNode(tag, resolved, value, null, null, scalarStyle);
+            case sequence -> {
+                List<Node> items = new ArrayList<>(children.length);
+                for (PersistentNode child : children) {
+                    items.add(child.toNode(done));
+                }
+                node = new SequenceNode(tag, resolved, items, null, null, flowStyle);
+            }
+            default -> {
+                List<NodeTuple> entries = new ArrayList<>(children.length / 2);
+                for (int i = 0; i < children.length; i += 2) {
+                    entries.add(new NodeTuple(children[i].toNode(done), children[i + 1].toNode(done)));
+                }
+                MappingNode mapping = new MappingNode(tag, resolved, entries, null, null, flowStyle);
+                mapping.setMerged(merged);
+                node = mapping;
+            }
+        }
+        node.setAnchor(anchor);
+        if (blockComments != null) {
+            node.setBlockComments(new ArrayList<>(blockComments));
+        }
+        if (inLineComments != null) {
+            node.setInLineComments(new ArrayList<>(inLineComments));
+        }
+        if (endComments != null) {
+            node.setEndComments(new ArrayList<>(endComments));
+        }
+        done.put(this, node);
+        return node;
+    }
+
+    @Override
+    public String toString() {
+        return "<" + this.getClass().getName() + " (tag=" + tag + ", id=" + nodeId
+                + (value != null ? ", value=" + value : ", size=" + children.length) + ")>";
+    }
+}
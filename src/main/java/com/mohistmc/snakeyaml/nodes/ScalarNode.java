@@ -70,6 +70,11 @@ public class ScalarNode extends Node {
         return NodeId.scalar;
     }
 
+    @Override
+    protected long hashContent(long hash) {
+        return StructuralHash.add(hash, value);
+    }
+
     public String toString() {
         return "<" + this.getClass().getName() + " (tag=" + getTag() + ", value=" + getValue() + ")>";
     }
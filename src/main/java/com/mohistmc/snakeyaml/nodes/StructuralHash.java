@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2008, SnakeYAML
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.mohistmc.snakeyaml.nodes;
+
+/**
+ * 64-bit FNV-1a hash used by {@link Node#getStructuralHash()}. It does not depend on the JVM or on
+ * the identity of the objects, so it is the same in every run. It is public for the composers which
+ * keep the nodes in their own form, see {@link com.mohistmc.snakeyaml.composer.CompactNodeTree}.
+ */
+public final class StructuralHash {
+
+    /**
+     * The hash of an alias to a collection which contains it
+     */
+    public static final long RECURSIVE = 0x9e3779b97f4a7c15L;
+    private static final long START = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private StructuralHash() {
+    }
+
+    /**
+     * Start the hash of a node
+     *
+     * @param kind - the kind of the node
+     * @param tag - the tag of the node
+     * @return the hash of the kind and the tag
+     */
+    public static long start(NodeId kind, Tag tag) {
+        return add(add(START, kind.ordinal()), tag.getValue());
+    }
+
+    /**
+     * Get the hash of a scalar, the same as {@link ScalarNode#getStructuralHash()}
+     *
+     * @param tag - the tag of the scalar
+     * @param value - the value of the scalar
+     * @return the hash
+     */
+    public static long scalar(Tag tag, String value) {
+        return add(start(NodeId.scalar, tag), value);
+    }
+
+    /**
+     * Add a number (a size or the hash of a child) to the hash
+     *
+     * @param hash - the hash so far
+     * @param value - the number to add
+     * @return the new hash
+     */
+    public static long add(long hash, long value) {
+        for (int i = 0; i < 8; i++) {
+            hash = (hash ^ (value & 0xff)) * PRIME;
+            value >>>= 8;
+        }
+        return hash;
+    }
+
+    /**
+     * Add a string to the hash
+     *
+     * @param hash - the hash so far
+     * @param value - the string to add
+     * @return the new hash
+     */
+    public static long add(long hash, String value) {
+        // the length keeps the boundaries between the strings
+        hash = add(hash, value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            hash = (hash ^ (c & 0xff)) * PRIME;
+            hash = (hash ^ (c >>> 8)) * PRIME;
+        }
+        return hash;
+    }
+}
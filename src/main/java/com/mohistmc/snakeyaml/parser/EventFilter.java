@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2008, SnakeYAML
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.mohistmc.snakeyaml.parser;
+
+import com.mohistmc.snakeyaml.events.Event;
+import com.mohistmc.snakeyaml.events.ScalarEvent;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Transforms the events between the {@link Parser} and the
+ * {@link com.mohistmc.snakeyaml.composer.Composer}. The filter is applied event by event (see
+ * {@link FilteringParser}), so no intermediate node tree is created.
+ * <p>
+ * A filter must keep the event stream well-formed: it may replace or drop scalars, aliases and
+ * comments, but a dropped key must be followed by {@link Context#skipValue()} to drop its value as
+ * well, and collection start/end events must be kept in pairs.
+ * </p>
+ */
+@FunctionalInterface
+public interface EventFilter {
+
+    /**
+     * Drop all the comment events. It is useful when the comments are parsed but not needed.
+     *
+     * @return the filter
+     */
+    static EventFilter dropComments() {
+        return (event, context) -> event.is(Event.ID.Comment) ? null : event;
+    }
+
+    /**
+     * Rename the keys of the mappings. Only plain scalar keys are compared.
+     *
+     * @param names - maps the old key to the new one
+     * @return the filter
+     */
+    static EventFilter renameKeys(Map<String, String> names) {
+        return (event, context) -> {
+            if (context.isMappingKey() && event instanceof ScalarEvent scalar && scalar.isPlain()) {
+                String name = names.get(scalar.getValue());
+                if (name != null) {
+                    return new ScalarEvent(scalar.getAnchor(), scalar.getTag(), scalar.getImplicit(), name,
+                            scalar.getStartMark(), scalar.getEndMark(), scalar.getScalarStyle());
+                }
+            }
+            return event;
+        };
+    }
+
+    /**
+     * Drop the mapping entries (the key and the whole value) with the given keys at any level.
+     * <p>
+     * The anchors inside a dropped value are dropped as well, so a document which refers to them
+     * later by an alias cannot be composed any more ("found undefined alias"). Do not drop the keys
+     * whose values are anchored for other parts of the document.
+     * </p>
+     *
+     * @param keys - the keys to remove
+     * @return the filter
+     */
+    static EventFilter dropKeys(Set<String> keys) {
+        return (event, context) -> {
+            if (context.isMappingKey() && event instanceof ScalarEvent scalar
+                    && keys.contains(scalar.getValue())) {
+                context.skipValue();
+                return null;
+            }
+            return event;
+        };
+    }
+
+    /**
+     * Transform the event.
+     *
+     * @param event - the next event from the source
+     * @param context - the position of the event in the document
+     * @return the event to pass further (the same or a new one) or <code>null</code> to drop it
+     */
+    Event filter(Event event, Context context);
+
+    /**
+     * Create a filter which applies this filter and then the other one
+     *
+     * @param after - the filter to apply to the output of this filter
+     * @return the combined filter
+     */
+    default EventFilter andThen(EventFilter after) {
+        if (after == null) {
+            throw new NullPointerException("EventFilter must be provided");
+        }
+        return (event, context) -> {
+            Event result = filter(event, context);
+            return result == null ? null : after.filter(result, context);
+        };
+    }
+
+    /**
+     * The state of the event stream which is visible to the filter
+     */
+    interface Context {
+
+        /**
+         * Check if the current event is a key of a mapping
+         *
+         * @return true when the event is the key (and not the value) of a mapping entry
+         */
+        boolean isMappingKey();
+
+        /**
+         * Drop the node which follows the current event in the source. It is used to remove the value
+         * after the key is dropped.
+         */
+        void skipValue();
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2008, SnakeYAML
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.mohistmc.snakeyaml.parser;
+
+import com.mohistmc.snakeyaml.events.Event;
+import java.util.Arrays;
+
+/**
+ * Parser which applies an {@link EventFilter} to the events of another Parser. Filters are chained
+ * by wrapping a FilteringParser into another one. Only the current event is kept in memory.
+ */
+public class FilteringParser implements Parser {
+
+    private static final int SEQUENCE = 0;
+    private static final int MAPPING_KEY = 1;
+    private static final int MAPPING_VALUE = 2;
+
+    private final Parser parser;
+    private final EventFilter filter;
+    // the kind of every open collection, the last one is the current
+    private int[] collections = new int[16];
+    private int depth = 0;
+    private boolean mappingKey;
+    private Event currentEvent;
+    private final EventFilter.Context context = new EventFilter.Context() {
+        @Override
+        public boolean isMappingKey() {
+            return mappingKey;
+        }
+
+        @Override
+        public void skipValue() {
+            parser.skipValue();
+            nodeCompleted();
+        }
+    };
+
+    /**
+     * Create
+     *
+     * @param parser - the source of the events
+     * @param filter - the transformation to apply
+     */
+    public FilteringParser(Parser parser, EventFilter filter) {
+        if (parser == null) {
+            throw new NullPointerException("Parser must be provided");
+        }
+        if (filter == null) {
+            throw new NullPointerException("EventFilter must be provided");
+        }
+        this.parser = parser;
+        this.filter = filter;
+    }
+
+    @Override
+    public boolean checkEvent(Event.ID choice) {
+        peekEvent();
+        return currentEvent != null && currentEvent.is(choice);
+    }
+
+    @Override
+    public Event peekEvent() {
+        while (currentEvent == null) {
+            Event event = parser.getEvent();
+            if (event == null) {
+                return null;
+            }
+            mappingKey = depth > 0 && collections[depth - 1] == MAPPING_KEY;
+            track(event);
+            currentEvent = filter.filter(event, context);
+        }
+        return currentEvent;
+    }
+
+    @Override
+    public Event getEvent() {
+        peekEvent();
+        Event value = currentEvent;
+        currentEvent = null;
+        return value;
+    }
+
+    private void track(Event event) {
+        switch (event.getEventId()) {
+            case Scalar, Alias -> nodeCompleted();
+            case MappingStart -> push(MAPPING_KEY);
+            case SequenceStart -> push(SEQUENCE);
+            case MappingEnd, SequenceEnd -> {
+                depth--;
+                nodeCompleted();
+            }
+            case DocumentStart -> depth = 0;
+            default -> {
+                // comments, document end and stream events do not change the position
+            }
+        }
+    }
+
+    private void push(int kind) {
+        if (depth == collections.length) {
+            collections = Arrays.copyOf(collections, depth * 2);
+        }
+        collections[depth++] = kind;
+    }
+
+    private void nodeCompleted() {
+        if (depth > 0) {
+            int current = collections[depth - 1];
+            if (current == MAPPING_KEY) {
+                collections[depth - 1] = MAPPING_VALUE;
+            } else if (current == MAPPING_VALUE) {
+                collections[depth - 1] = MAPPING_KEY;
+            }
+        }
+    }
+}
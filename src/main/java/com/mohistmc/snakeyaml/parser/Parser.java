@@ -13,7 +13,11 @@
  */
 package com.mohistmc.snakeyaml.parser;
 
+import com.mohistmc.snakeyaml.LoaderOptions;
+import com.mohistmc.snakeyaml.comments.CommentType;
+import com.mohistmc.snakeyaml.events.CommentEvent;
 import com.mohistmc.snakeyaml.events.Event;
+import com.mohistmc.snakeyaml.events.NodeEvent;
 
 /**
  * This interface represents an input stream of {@link Event Events}.
@@ -54,4 +58,80 @@ public interface Parser {
      * @throws ParserException Thrown in case of malformed input.
      */
     Event getEvent();
+
+    /**
+     * Skip the next node with the nesting depth limit of the default {@link LoaderOptions}.
+     *
+     * @return the amount of consumed node events (1 for a scalar or an alias)
+     * @throws ParserException when the next event does not start a node, the node is nested too
+     *         deep or the input is malformed
+     * @see #skipValue(int)
+     */
+    default int skipValue() {
+        return skipValue(new LoaderOptions().getNestingDepthLimit());
+    }
+
+    /**
+     * Skip the next node, including all the nested nodes of a mapping or a sequence, without
+     * composing anything. Comments which precede the node and its in-line comments are dropped.
+     * The events are consumed iteratively, so the depth of the skipped node does not consume the
+     * Java stack.
+     * <p>
+     * The scalars of the skipped node are still scanned, so their size is limited only by the
+     * code point limit of the scanner (see {@link LoaderOptions#setCodePointLimit(int)}). The
+     * nesting is limited here, like the {@link com.mohistmc.snakeyaml.composer.Composer} limits
+     * it for the composed nodes.
+     * </p>
+     * <p>
+     * After the call the next event is the one which follows the skipped node (the next key, the
+     * next item, or the end of the enclosing collection or document).
+     * </p>
+     *
+     * @param nestingDepthLimit - the max depth of the collections inside the skipped node
+     * @return the amount of consumed node events (1 for a scalar or an alias)
+     * @throws ParserException when the next event does not start a node, the node is nested too
+     *         deep or the input is malformed
+     */
+    default int skipValue(int nestingDepthLimit) {
+        while (checkEvent(Event.ID.Comment)) {
+            getEvent();
+        }
+        Event first = peekEvent();
+        if (!(first instanceof NodeEvent)) {
+            String found = first == null ? "end of stream" : first.getEventId().toString();
+            throw new ParserException("while skipping a node", null,
+                    "expected a node, but found " + found,
+                    first == null ? null : first.getStartMark());
+        }
+        int depth = 0;
+        int count = 0;
+        do {
+            Event event = getEvent();
+            if (event == null) {
+                throw new ParserException("while skipping a node", first.getStartMark(),
+                        "found unexpected end of stream", null);
+            }
+            switch (event.getEventId()) {
+                case MappingStart, SequenceStart -> {
+                    if (++depth > nestingDepthLimit) {
+                        throw new ParserException("while skipping a node", first.getStartMark(),
+                                "Nesting Depth exceeded max " + nestingDepthLimit,
+                                event.getStartMark());
+                    }
+                    count++;
+                }
+                case MappingEnd, SequenceEnd -> depth--;
+                case Scalar, Alias -> count++;
+                default -> {
+                    // comments do not change the nesting
+                }
+            }
+        } while (depth > 0);
+        // the trailing in-line comment belongs to the skipped node, block comments to the next one
+        while (peekEvent() instanceof CommentEvent comment
+                && comment.getCommentType() == CommentType.IN_LINE) {
+            getEvent();
+        }
+        return count;
+    }
 }
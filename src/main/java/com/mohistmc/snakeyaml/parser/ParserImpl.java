@@ -131,13 +131,25 @@ public class ParserImpl implements Parser {
     private Event currentEvent;
     private com.mohistmc.snakeyaml.parser.Production state;
     private com.mohistmc.snakeyaml.parser.VersionTagsTuple directives;
+    private final int nestingDepthLimit;
 
     public ParserImpl(StreamReader reader, LoaderOptions options) {
-        this(new ScannerImpl(reader, options));
+        this(new ScannerImpl(reader, options), options);
     }
 
     public ParserImpl(Scanner scanner) {
+        this(scanner, new LoaderOptions());
+    }
+
+    /**
+     * Create
+     *
+     * @param scanner - the source of the tokens
+     * @param options - the nesting depth limit for {@link #skipValue()}
+     */
+    public ParserImpl(Scanner scanner, LoaderOptions options) {
         this.scanner = scanner;
+        this.nestingDepthLimit = options.getNestingDepthLimit();
         currentEvent = null;
         directives = new com.mohistmc.snakeyaml.parser.VersionTagsTuple(null, new HashMap<>(DEFAULT_TAGS));
         states = new ArrayStack<>(100);
@@ -173,6 +185,14 @@ public class ParserImpl implements Parser {
         return value;
     }
 
+    /**
+     * Skip the next node with the nesting depth limit of the LoaderOptions of this parser.
+     */
+    @Override
+    public int skipValue() {
+        return skipValue(nestingDepthLimit);
+    }
+
     private CommentEvent produceCommentEvent(CommentToken token) {
         Mark startMark = token.getStartMark();
         Mark endMark = token.getEndMark();
@@ -16,10 +16,16 @@ package com.mohistmc.snakeyaml.representer;
 import com.mohistmc.snakeyaml.DumperOptions;
 import com.mohistmc.snakeyaml.error.YAMLException;
 import com.mohistmc.snakeyaml.nodes.Node;
+import com.mohistmc.snakeyaml.nodes.NodeId;
 import com.mohistmc.snakeyaml.nodes.Tag;
 import com.mohistmc.snakeyaml.reader.StreamReader;
+import com.mohistmc.snakeyaml.resolver.Resolver;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
@@ -48,6 +54,17 @@ class SafeRepresenter extends BaseRepresenter {
     @Getter
     protected TimeZone timeZone = null;
     protected DumperOptions.NonPrintableStyle nonPrintableStyle;
+    /**
+     * -- SETTER --
+     *  Quote the plain strings which this resolver reads as another type, even when the resolver of
+     *  the Yaml instance reads them as strings. <code>new Resolver()</code> keeps the documents
+     *  written with the YAML 1.2 Core schema ({@link com.mohistmc.snakeyaml.resolver.CoreResolver})
+     *  stable for the YAML 1.1 readers, <code>new CoreResolver()</code> does the same the other way
+     *  round. <code>null</code> (the default) quotes only by the resolver of the Yaml instance.
+     */
+    @Setter
+    @Getter
+    protected Resolver quotingResolver = null;
 
     public SafeRepresenter(DumperOptions options) {
         if (options == null) {
@@ -78,6 +95,8 @@ class SafeRepresenter extends BaseRepresenter {
         this.multiRepresenters.put(Date.class, new RepresentDate());
         this.multiRepresenters.put(Enum.class, new RepresentEnum());
         this.multiRepresenters.put(Calendar.class, new RepresentDate());
+        this.representers.put(Instant.class, new RepresentTemporal());
+        this.representers.put(OffsetDateTime.class, new RepresentTemporal());
         classTags = new HashMap<>();
         this.nonPrintableStyle = options.getNonPrintableStyle();
         setDefaultScalarStyle(options.getDefaultScalarStyle());
@@ -143,6 +162,10 @@ class SafeRepresenter extends BaseRepresenter {
                     && MULTILINE_PATTERN.matcher(value).find()) {
                 style = DumperOptions.ScalarStyle.LITERAL;
             }
+            if (style == DumperOptions.ScalarStyle.PLAIN && quotingResolver != null
+                    && !Tag.STR.equals(quotingResolver.resolve(NodeId.scalar, value, true))) {
+                style = DumperOptions.ScalarStyle.SINGLE_QUOTED;
+            }
             return representScalar(tag, value, style);
         }
     }
@@ -340,6 +363,39 @@ class SafeRepresenter extends BaseRepresenter {
         }
     }
 
+    /**
+     * Represent Instant (in UTC) and OffsetDateTime (with its offset) as timestamps. A timestamp
+     * has a year of 4 digits, so the values out of the years 0000-9999 are rejected (they would
+     * be written with a sign and loaded back as strings). An offset with seconds is written in
+     * UTC.
+     */
+    protected class RepresentTemporal implements com.mohistmc.snakeyaml.representer.Represent {
+
+        private static final Instant MIN_TIMESTAMP = Instant.parse("0000-01-01T00:00:00Z");
+        private static final Instant MAX_TIMESTAMP =
+                Instant.parse("9999-12-31T23:59:59.999999999Z");
+
+        public Node representData(Object data) {
+            OffsetDateTime dateTime;
+            if (data instanceof Instant instant) {
+                // Instant.MIN and MAX cannot be converted at all
+                dateTime = instant.isBefore(MIN_TIMESTAMP) || instant.isAfter(MAX_TIMESTAMP)
+                        ? null
+                        : instant.atOffset(ZoneOffset.UTC);
+            } else {
+                dateTime = (OffsetDateTime) data;
+                if (dateTime.getOffset().getTotalSeconds() % 60 != 0) {
+                    dateTime = dateTime.withOffsetSameInstant(ZoneOffset.UTC);
+                }
+            }
+            if (dateTime == null || dateTime.getYear() < 0 || dateTime.getYear() > 9999) {
+                throw new YAMLException("Timestamp out of the years 0000-9999: " + data);
+            }
+            return representScalar(getTag(data.getClass(), Tag.TIMESTAMP),
+                    DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(dateTime), DumperOptions.ScalarStyle.PLAIN);
+        }
+    }
+
     protected class RepresentDate implements com.mohistmc.snakeyaml.representer.Represent {
 
         public Node representData(Object data) {
@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2008, SnakeYAML
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.mohistmc.snakeyaml.resolver;
+
+import com.mohistmc.snakeyaml.nodes.Tag;
+import java.math.BigInteger;
+
+/**
+ * Resolver of the YAML 1.2 Core schema, implemented without regular expressions. Only these plain
+ * scalars get a type other than a string:
+ * <ul>
+ * <li>null: <code>null</code>, <code>Null</code>, <code>NULL</code>, <code>~</code> and the empty
+ * value</li>
+ * <li>bool: <code>true</code>, <code>True</code>, <code>TRUE</code>, <code>false</code>,
+ * <code>False</code>, <code>FALSE</code></li>
+ * <li>int: <code>[-+]?[0-9]+</code>, <code>0o[0-7]+</code>, <code>0x[0-9a-fA-F]+</code></li>
+ * <li>float: <code>[-+]?(\.[0-9]+|[0-9]+(\.[0-9]*)?)([eE][-+]?[0-9]+)?</code>,
+ * <code>[-+]?\.(inf|Inf|INF)</code>, <code>\.(nan|NaN|NAN)</code></li>
+ * </ul>
+ * The YAML 1.1 values (yes/no/on/off, base 60 numbers, timestamps, '_' in numbers) stay strings.
+ * The merge key <code>&lt;&lt;</code> is still supported.
+ * <p>
+ * The numbers are always parsed while they are resolved, because a decimal with a leading zero is
+ * not an octal and <code>0o</code> is not known to the YAML 1.1 constructor. The resolvers added
+ * with {@link #addImplicitResolver(Tag, java.util.regex.Pattern, String, int)} are applied to the
+ * values which are not resolved by the Core schema.
+ * </p>
+ */
+public class CoreResolver extends Resolver {
+
+    private static final int NUMBER_LIMIT = 1024;
+    private static final ResolvedScalar POSITIVE_INFINITY =
+            new ResolvedScalar(Tag.FLOAT, Double.POSITIVE_INFINITY);
+    private static final ResolvedScalar NEGATIVE_INFINITY =
+            new ResolvedScalar(Tag.FLOAT, Double.NEGATIVE_INFINITY);
+    private static final ResolvedScalar NAN = new ResolvedScalar(Tag.FLOAT, Double.NaN);
+
+    @Override
+    protected void addImplicitResolvers() {
+        // the Core schema is implemented by resolveCore()
+    }
+
+    @Override
+    protected ResolvedScalar resolveImplicitScalar(String value) {
+        ResolvedScalar resolved = resolveCore(value);
+        return resolved != null ? resolved : super.resolveImplicitScalar(value);
+    }
+
+    /**
+     * Detect the type of plain scalar by the Core schema
+     *
+     * @param value - the value of the scalar
+     * @return the tag with the parsed number or <code>null</code> for a string
+     */
+    static ResolvedScalar resolveCore(String value) {
+        int length = value.length();
+        if (length <= 5) {
+            switch (value) {
+                case "", "~", "null", "Null", "NULL":
+                    return ResolvedScalar.NULL;
+                case "true", "True", "TRUE", "false", "False", "FALSE":
+                    return ResolvedScalar.BOOL;
+                case "<<":
+                    return ResolvedScalar.MERGE;
+                case ".inf", ".Inf", ".INF", "+.inf", "+.Inf", "+.INF":
+                    return POSITIVE_INFINITY;
+                case "-.inf", "-.Inf", "-.INF":
+                    return NEGATIVE_INFINITY;
+                case ".nan", ".NaN", ".NAN":
+                    return NAN;
+                default:
+                    break;
+            }
+        }
+        if (length > NUMBER_LIMIT) {
+            return null;
+        }
+        char first = value.charAt(0);
+        if (first == '0' && length > 2 && (value.charAt(1) == 'o' || value.charAt(1) == 'x')) {
+            int radix = value.charAt(1) == 'o' ? 8 : 16;
+            for (int i = 2; i < length; i++) {
+                // only the ASCII digits
+                if (Character.digit(value.charAt(i), radix) < 0 || value.charAt(i) > 'f') {
+                    return null;
+                }
+            }
+            return new ResolvedScalar(Tag.INT, parseInteger(value, 2, radix));
+        }
+        int start = first == '-' || first == '+' ? 1 : 0;
+        int end = skipDigits(value, start);
+        if (end == length) {
+            return end > start ? new ResolvedScalar(Tag.INT, parseInteger(value, 0, 10)) : null;
+        }
+        int i = end;
+        if (value.charAt(i) == '.') {
+            i = skipDigits(value, i + 1);
+            if (end == start && i == end + 1) {
+                // neither integer nor fraction digits
+                return null;
+            }
+        } else if (end == start) {
+            return null;
+        }
+        if (i < length && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+                i++;
+            }
+            int exponent = i;
+            i = skipDigits(value, i);
+            if (i == exponent) {
+                return null;
+            }
+        }
+        if (i != length) {
+            return null;
+        }
+        return new ResolvedScalar(Tag.FLOAT, Double.parseDouble(value));
+    }
+
+    private static int skipDigits(String value, int index) {
+        int length = value.length();
+        while (index < length && value.charAt(index) >= '0' && value.charAt(index) <= '9') {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * @return the smallest of Integer, Long and BigInteger which keeps the value
+     */
+    private static Number parseInteger(String value, int from, int radix) {
+        long number;
+        try {
+            number = Long.parseLong(value, from, value.length(), radix);
+        } catch (NumberFormatException e) {
+            return new BigInteger(value.substring(from), radix);
+        }
+        if (number >= Integer.MIN_VALUE && number <= Integer.MAX_VALUE) {
+            return (int) number;
+        }
+        return number;
+    }
+}
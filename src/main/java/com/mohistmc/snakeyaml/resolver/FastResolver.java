@@ -0,0 +1,462 @@
+/**
+ * Copyright (c) 2008, SnakeYAML
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.mohistmc.snakeyaml.resolver;
+
+import com.mohistmc.snakeyaml.nodes.Tag;
+
+/**
+ * Resolver which detects the standard implicit types without regular expressions. A plain scalar is
+ * classified by a single scan of its characters with the same results as the patterns of
+ * {@link Resolver} ({@link Resolver#BOOL}, {@link Resolver#INT}, {@link Resolver#FLOAT},
+ * {@link Resolver#NULL}, {@link Resolver#TIMESTAMP}, ...) and their length limits.
+ * <p>
+ * The resolvers added with {@link #addImplicitResolver(Tag, java.util.regex.Pattern, String, int)}
+ * are applied to the values which are not resolved by the standard rules.
+ * </p>
+ */
+public class FastResolver extends Resolver {
+
+    private static final int BOOL_LIMIT = 10;
+    private static final int NULL_LIMIT = 10;
+    private static final int NUMBER_LIMIT = 1024;
+    private static final int TIMESTAMP_LIMIT = 50;
+    // the amount of digits of Integer.MAX_VALUE and Long.MAX_VALUE in the radix
+    private static final int[] MAX_INT_DIGITS = new int[17];
+    private static final int[] MAX_LONG_DIGITS = new int[17];
+
+    static {
+        for (int radix : new int[]{2, 8, 10, 16}) {
+            MAX_INT_DIGITS[radix] = Integer.toString(Integer.MAX_VALUE, radix).length();
+            MAX_LONG_DIGITS[radix] = Long.toString(Long.MAX_VALUE, radix).length();
+        }
+    }
+
+    @Override
+    protected void addImplicitResolvers() {
+        // the standard rules are implemented by resolveImplicit()
+    }
+
+    /**
+     * Resolve a plain scalar and parse an int or a float without creating any intermediate String.
+     * The number is the same object which
+     * {@link com.mohistmc.snakeyaml.constructor.SafeConstructor.ConstructYamlInt} or
+     * {@link com.mohistmc.snakeyaml.constructor.SafeConstructor.ConstructYamlFloat} creates, the
+     * values which need a BigInteger and the base 60 numbers are not parsed.
+     *
+     * @param value - the value of the scalar
+     * @return the tag with the parsed value
+     */
+    @Override
+    protected ResolvedScalar resolveImplicitScalar(String value) {
+        Tag tag = resolveImplicit(value);
+        if (tag == Tag.INT) {
+            Number number = parseInt(value);
+            return number != null ? new ResolvedScalar(tag, number) : ResolvedScalar.INT;
+        }
+        if (tag == Tag.FLOAT) {
+            Number number = parseFloat(value);
+            return number != null ? new ResolvedScalar(tag, number) : ResolvedScalar.FLOAT;
+        }
+        if (tag != null) {
+            return ResolvedScalar.of(tag);
+        }
+        return super.resolveImplicitScalar(value);
+    }
+
+    /**
+     * Parse a value which matches {@link Resolver#INT}
+     *
+     * @return Integer or Long, <code>null</code> when the value is not parsed
+     */
+    static Number parseInt(String value) {
+        int length = value.length();
+        boolean negative = value.charAt(0) == '-';
+        int i = skipSign(value);
+        int radix = 10;
+        if (value.charAt(i) == '0' && i + 1 < length) {
+            switch (value.charAt(i + 1)) {
+                case 'b' -> {
+                    radix = 2;
+                    i += 2;
+                }
+                case 'x' -> {
+                    radix = 16;
+                    i += 2;
+                }
+                default -> {
+                    radix = 8;
+                    i += 1;
+                }
+            }
+        }
+        long magnitude = 0;
+        int digits = 0;
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '_') {
+                continue;
+            }
+            if (c == ':') {
+                // base 60
+                return null;
+            }
+            int digit = Character.digit(c, radix);
+            if (magnitude > (Long.MAX_VALUE - digit) / radix) {
+                // BigInteger
+                return null;
+            }
+            magnitude = magnitude * radix + digit;
+            digits++;
+        }
+        long number = negative ? -magnitude : magnitude;
+        // the same types as SafeConstructor.createNumber()
+        if (digits <= MAX_INT_DIGITS[radix] && number >= Integer.MIN_VALUE && number <= Integer.MAX_VALUE) {
+            return (int) number;
+        }
+        if (digits <= MAX_LONG_DIGITS[radix]) {
+            return number;
+        }
+        return null;
+    }
+
+    /**
+     * Parse a value which matches {@link Resolver#FLOAT}
+     *
+     * @return Double, <code>null</code> when the value is not parsed
+     */
+    static Double parseFloat(String value) {
+        if (value.indexOf('_') >= 0 || value.indexOf(':') >= 0) {
+            return null;
+        }
+        int i = skipSign(value);
+        if (value.length() - i == 4 && value.charAt(i) == '.') {
+            char c = value.charAt(i + 1);
+            if (c == 'i' || c == 'I') {
+                return value.charAt(0) == '-' ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+            }
+            if (c == 'n' || c == 'N') {
+                return Double.NaN;
+            }
+        }
+        return Double.parseDouble(value);
+    }
+
+    /**
+     * Detect the standard type of plain scalar
+     *
+     * @param value - the value of the scalar
+     * @return the tag or <code>null</code> for a string
+     */
+    static Tag resolveImplicit(String value) {
+        int length = value.length();
+        if (length == 0) {
+            return Tag.NULL;
+        }
+        switch (value.charAt(0)) {
+            case 'y', 'Y', 'n', 'N', 't', 'T', 'f', 'F', 'o', 'O':
+                if (length <= BOOL_LIMIT && isBool(value)) {
+                    return Tag.BOOL;
+                }
+                if (length <= NULL_LIMIT && isNull(value)) {
+                    return Tag.NULL;
+                }
+                return null;
+            case '~', ' ':
+                return length == 1 ? Tag.NULL : null;
+            case '<':
+                return value.equals("<<") ? Tag.MERGE : null;
+            case '!', '&', '*':
+                return length == 1 ? Tag.YAML : null;
+            case '-', '+', '.':
+                if (length <= NUMBER_LIMIT) {
+                    if (isInt(value)) {
+                        return Tag.INT;
+                    }
+                    if (isFloat(value)) {
+                        return Tag.FLOAT;
+                    }
+                }
+                return null;
+            case '0', '1', '2', '3', '4', '5', '6', '7', '8', '9':
+                if (length <= NUMBER_LIMIT) {
+                    if (isInt(value)) {
+                        return Tag.INT;
+                    }
+                    if (isFloat(value)) {
+                        return Tag.FLOAT;
+                    }
+                }
+                if (length <= TIMESTAMP_LIMIT && isTimestamp(value)) {
+                    return Tag.TIMESTAMP;
+                }
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    private static boolean isBool(String value) {
+        return switch (value) {
+            case "yes", "Yes", "YES", "no", "No", "NO", "true", "True", "TRUE", "false", "False", "FALSE",
+                    "on", "On", "ON", "off", "Off", "OFF" -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean isNull(String value) {
+        return switch (value) {
+            case "null", "Null", "NULL" -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Same as {@link Resolver#INT}
+     */
+    static boolean isInt(String value) {
+        int length = value.length();
+        int i = skipSign(value);
+        if (i == length) {
+            return false;
+        }
+        char c = value.charAt(i);
+        if (c == '0') {
+            if (i + 1 == length) {
+                return true;
+            }
+            return switch (value.charAt(i + 1)) {
+                case 'b' -> isDigits(value, i + 2, 2);
+                case 'x' -> isDigits(value, i + 2, 16);
+                default -> isDigits(value, i + 1, 8);
+            };
+        }
+        if (c < '1' || c > '9') {
+            return false;
+        }
+        int end = skipDigits(value, i + 1);
+        return end == length || sexagesimal(value, end) == length;
+    }
+
+    /**
+     * Same as {@link Resolver#FLOAT}
+     */
+    static boolean isFloat(String value) {
+        int length = value.length();
+        int i = skipSign(value);
+        if (i == length) {
+            return false;
+        }
+        char c = value.charAt(i);
+        if (c == '.') {
+            if (length - i == 4 && (value.startsWith("inf", i + 1) || value.startsWith("Inf", i + 1)
+                    || value.startsWith("INF", i + 1))) {
+                return true;
+            }
+            if (i == 0 && length == 4 && (value.startsWith("nan", 1) || value.startsWith("NaN", 1)
+                    || value.startsWith("NAN", 1))) {
+                return true;
+            }
+            int end = skipDigits(value, i + 1);
+            return end > i + 1 && exponent(value, end) == length;
+        }
+        if (!isDigit(c)) {
+            return false;
+        }
+        int end = skipDigits(value, i + 1);
+        if (end == length) {
+            return false;
+        }
+        switch (value.charAt(end)) {
+            case '.':
+                return exponent(value, skipDigits(value, end + 1)) == length;
+            case 'e', 'E':
+                return exponent(value, end) == length;
+            case ':':
+                end = sexagesimal(value, end);
+                return end > 0 && end < length && value.charAt(end) == '.'
+                        && skipDigits(value, end + 1) == length;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Same as {@link Resolver#TIMESTAMP}
+     */
+    static boolean isTimestamp(String value) {
+        int length = value.length();
+        if (length < 8 || !isDigit(value, 0) || !isDigit(value, 1) || !isDigit(value, 2)
+                || !isDigit(value, 3) || value.charAt(4) != '-') {
+            return false;
+        }
+        if (length == 10 && isDigit(value, 5) && isDigit(value, 6) && value.charAt(7) == '-'
+                && isDigit(value, 8) && isDigit(value, 9)) {
+            return true;
+        }
+        // month and day of one or two digits
+        int i = skipOneOrTwoDigits(value, 5);
+        if (i < 0 || i == length || value.charAt(i) != '-') {
+            return false;
+        }
+        i = skipOneOrTwoDigits(value, i + 1);
+        if (i < 0 || i == length) {
+            return false;
+        }
+        char c = value.charAt(i);
+        if (c == 'T' || c == 't') {
+            i++;
+        } else if (c == ' ' || c == '\t') {
+            i = skipBlanks(value, i);
+        } else {
+            return false;
+        }
+        // time
+        i = skipOneOrTwoDigits(value, i);
+        if (i < 0 || i + 6 > length || value.charAt(i) != ':' || !isDigit(value, i + 1)
+                || !isDigit(value, i + 2) || value.charAt(i + 3) != ':' || !isDigit(value, i + 4)
+                || !isDigit(value, i + 5)) {
+            return false;
+        }
+        i += 6;
+        if (i < length && value.charAt(i) == '.') {
+            i++;
+            while (i < length && isDigit(value, i)) {
+                i++;
+            }
+        }
+        if (i == length) {
+            return true;
+        }
+        // time zone
+        i = skipBlanks(value, i);
+        if (i == length) {
+            return false;
+        }
+        c = value.charAt(i);
+        if (c == 'Z') {
+            return i + 1 == length;
+        }
+        if (c != '-' && c != '+') {
+            return false;
+        }
+        i = skipOneOrTwoDigits(value, i + 1);
+        if (i < 0) {
+            return false;
+        }
+        return i == length || (i + 3 == length && value.charAt(i) == ':' && isDigit(value, i + 1)
+                && isDigit(value, i + 2));
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isDigit(String value, int index) {
+        return index < value.length() && isDigit(value.charAt(index));
+    }
+
+    private static int skipSign(String value) {
+        char c = value.charAt(0);
+        return c == '-' || c == '+' ? 1 : 0;
+    }
+
+    /**
+     * @return the index after the decimal digits and '_'
+     */
+    private static int skipDigits(String value, int index) {
+        while (index < value.length() && (isDigit(value.charAt(index)) || value.charAt(index) == '_')) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * @return the index after one or two decimal digits or -1 when there is no digit
+     */
+    private static int skipOneOrTwoDigits(String value, int index) {
+        if (!isDigit(value, index)) {
+            return -1;
+        }
+        return isDigit(value, index + 1) ? index + 2 : index + 1;
+    }
+
+    private static int skipBlanks(String value, int index) {
+        while (index < value.length() && (value.charAt(index) == ' ' || value.charAt(index) == '\t')) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * @return true when the rest of the value is made of the digits of the radix and '_' with at
+     *         least one digit
+     */
+    private static boolean isDigits(String value, int index, int radix) {
+        int length = value.length();
+        boolean digit = false;
+        for (int i = index; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '_') {
+                continue;
+            }
+            // Character.digit() accepts the non-ASCII digits
+            if (c > 'f' || Character.digit(c, radix) < 0) {
+                return false;
+            }
+            digit = true;
+        }
+        return digit;
+    }
+
+    /**
+     * Skip the optional exponent <code>[eE][-+]?[0-9]+</code>
+     *
+     * @return the index after the exponent or the index when there is no exponent
+     */
+    private static int exponent(String value, int index) {
+        int length = value.length();
+        if (index == length || (value.charAt(index) != 'e' && value.charAt(index) != 'E')) {
+            return index;
+        }
+        int i = index + 1;
+        if (i < length && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+            i++;
+        }
+        int digits = i;
+        while (i < length && isDigit(value.charAt(i))) {
+            i++;
+        }
+        return i > digits ? i : index;
+    }
+
+    /**
+     * Skip the groups <code>(:[0-5]?[0-9])+</code> of a base 60 number
+     *
+     * @return the index after the groups or -1 when there is no valid group
+     */
+    private static int sexagesimal(String value, int index) {
+        int length = value.length();
+        int i = index;
+        while (i < length && value.charAt(i) == ':') {
+            if (isDigit(value, i + 1) && value.charAt(i + 1) <= '5' && isDigit(value, i + 2)) {
+                i += 3;
+            } else if (isDigit(value, i + 1)) {
+                i += 2;
+            } else {
+                return -1;
+            }
+        }
+        return i > index ? i : -1;
+    }
+}
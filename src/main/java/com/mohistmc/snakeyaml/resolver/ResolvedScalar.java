@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2008, SnakeYAML
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.mohistmc.snakeyaml.resolver;
+
+import com.mohistmc.snakeyaml.nodes.Tag;
+
+/**
+ * The tag of a scalar with its value when the value is already parsed
+ *
+ * @param tag - the resolved tag
+ * @param number - the Integer, Long, BigInteger or Double of an int or a float, <code>null</code> when the
+ *        value is not parsed
+ */
+public record ResolvedScalar(Tag tag, Number number) {
+
+    public static final ResolvedScalar STR = new ResolvedScalar(Tag.STR, null);
+    public static final ResolvedScalar NULL = new ResolvedScalar(Tag.NULL, null);
+    public static final ResolvedScalar BOOL = new ResolvedScalar(Tag.BOOL, null);
+    public static final ResolvedScalar INT = new ResolvedScalar(Tag.INT, null);
+    public static final ResolvedScalar FLOAT = new ResolvedScalar(Tag.FLOAT, null);
+    public static final ResolvedScalar TIMESTAMP = new ResolvedScalar(Tag.TIMESTAMP, null);
+    public static final ResolvedScalar MERGE = new ResolvedScalar(Tag.MERGE, null);
+    public static final ResolvedScalar YAML = new ResolvedScalar(Tag.YAML, null);
+
+    /**
+     * Get the tag without a parsed value, the standard tags are shared instead of created for every
+     * scalar
+     *
+     * @param tag - the resolved tag
+     * @return the tag without the value
+     */
+    public static ResolvedScalar of(Tag tag) {
+        if (tag == Tag.STR) {
+            return STR;
+        } else if (tag == Tag.NULL) {
+            return NULL;
+        } else if (tag == Tag.BOOL) {
+            return BOOL;
+        } else if (tag == Tag.INT) {
+            return INT;
+        } else if (tag == Tag.FLOAT) {
+            return FLOAT;
+        } else if (tag == Tag.TIMESTAMP) {
+            return TIMESTAMP;
+        } else if (tag == Tag.MERGE) {
+            return MERGE;
+        } else if (tag == Tag.YAML) {
+            return YAML;
+        }
+        return new ResolvedScalar(tag, null);
+    }
+}
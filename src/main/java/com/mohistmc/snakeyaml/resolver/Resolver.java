@@ -15,11 +15,15 @@ package com.mohistmc.snakeyaml.resolver;
 
 import com.mohistmc.snakeyaml.nodes.NodeId;
 import com.mohistmc.snakeyaml.nodes.Tag;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
+import lombok.Getter;
 
 /**
  * Resolver tries to detect a type by content (when the tag is implicit)
@@ -53,13 +57,54 @@ public class Resolver {
     public static final Pattern VALUE = Pattern.compile("^(?:=)$");
     public static final Pattern YAML = Pattern.compile("^(?:!|&|\\*)$");
 
-    protected Map<Character, List<com.mohistmc.snakeyaml.resolver.ResolverTuple>> yamlImplicitResolvers =
-            new HashMap<>();
+    private static final int ASCII = 128;
+
+    // the implicit resolvers by the first character of the value
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final List<ResolverTuple>[] asciiResolvers = new List[ASCII];
+    private final Map<Character, List<ResolverTuple>> nonAsciiResolvers = new HashMap<>();
+    // the implicit resolvers for any first character, they are tried last
+    private final List<ResolverTuple> anyFirstResolvers = new ArrayList<>();
+    /**
+     * The implicit resolvers by the first character of the value, the resolvers for any first
+     * character are kept with the <code>null</code> key.
+     *
+     * @deprecated it is a read-only view now, use
+     *             {@link #addImplicitResolver(Tag, Pattern, String, int)} to add a resolver
+     */
+    @Deprecated
+    protected final Map<Character, List<ResolverTuple>> yamlImplicitResolvers = new ResolversView();
+
+    // a subclass which overrides resolve() decides every scalar itself
+    private final boolean customResolve;
+    private ResolverCache cache;
+    /**
+     * -- GETTER --
+     *  The amount of plain scalars resolved from the cache
+     */
+    @Getter
+    private long cacheHits = 0;
+    /**
+     * -- GETTER --
+     *  The amount of plain scalars resolved while the cache is enabled but missing the value
+     */
+    @Getter
+    private long cacheMisses = 0;
 
     public Resolver() {
+        this.customResolve = overridesResolve(getClass());
         addImplicitResolvers();
     }
 
+    private static boolean overridesResolve(Class<?> type) {
+        try {
+            return type.getMethod("resolve", NodeId.class, String.class, boolean.class)
+                    .getDeclaringClass() != Resolver.class;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     protected void addImplicitResolvers() {
         addImplicitResolver(Tag.BOOL, BOOL, "yYnNtTfFoO", 10);
         /*
@@ -96,50 +141,88 @@ public class Resolver {
         if (regexp == null) {
             throw new IllegalStateException("No pattern provided for Tag=" + tag);
         }
+        ResolverTuple tuple = new ResolverTuple(tag, regexp, limit);
         if (first == null) {
-            List<com.mohistmc.snakeyaml.resolver.ResolverTuple> curr = yamlImplicitResolvers.computeIfAbsent(null, k -> new ArrayList<>());
-            curr.add(new com.mohistmc.snakeyaml.resolver.ResolverTuple(tag, regexp, limit));
+            anyFirstResolvers.add(tuple);
         } else {
-            char[] chrs = first.toCharArray();
-            for (char chr : chrs) {
-                Character theC = chr;
-                if (theC == 0) {
+            for (char chr : first.toCharArray()) {
+                if (chr == 0) {
                     // special case: for null
-                    theC = null;
+                    anyFirstResolvers.add(tuple);
+                } else if (chr < ASCII) {
+                    if (asciiResolvers[chr] == null) {
+                        asciiResolvers[chr] = new ArrayList<>();
+                    }
+                    asciiResolvers[chr].add(tuple);
+                } else {
+                    nonAsciiResolvers.computeIfAbsent(chr, k -> new ArrayList<>()).add(tuple);
                 }
-                List<ResolverTuple> curr = yamlImplicitResolvers.computeIfAbsent(theC, k -> new ArrayList<>());
-                curr.add(new ResolverTuple(tag, regexp, limit));
             }
         }
+        // the cached values may resolve differently now
+        clearCache();
+    }
+
+    /**
+     * Keep the resolved plain scalars to resolve the repeated values (true, 0, ...) without
+     * matching them again. The cache is disabled by default.
+     * <p>
+     * The cache is changed by every lookup (the least recently used value is evicted), it is not
+     * thread-safe. A resolver with the cache enabled must not be shared by the threads which load
+     * concurrently.
+     * </p>
+     *
+     * @param maxSize - the max amount of values to keep, 0 to disable the cache
+     */
+    public void setCacheSize(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative: " + maxSize);
+        }
+        cache = maxSize == 0 ? null : new ResolverCache(maxSize);
+    }
+
+    /**
+     * @return the max amount of cached values, 0 when the cache is disabled
+     */
+    public int getCacheSize() {
+        return cache == null ? 0 : cache.getMaxSize();
+    }
+
+    /**
+     * Remove the cached values and reset the counters
+     */
+    public void clearCache() {
+        if (cache != null) {
+            cache.clear();
+        }
+        cacheHits = 0;
+        cacheMisses = 0;
+    }
+
+    /**
+     * Resolve a scalar and parse its value when it is a number. This resolver does not parse the
+     * values, see {@link FastResolver}. The implicit values are taken from the cache when it is
+     * enabled (see {@link #setCacheSize(int)}). When a subclass overrides
+     * {@link #resolve(NodeId, String, boolean)} the scalar is resolved by it, without the cache and
+     * without a parsed value.
+     *
+     * @param value - the value of the scalar
+     * @param implicit - true when the tag can be resolved from the value
+     * @return the tag with the parsed value
+     */
+    public ResolvedScalar resolveScalar(String value, boolean implicit) {
+        if (customResolve) {
+            return ResolvedScalar.of(resolve(NodeId.scalar, value, implicit));
+        }
+        if (!implicit) {
+            return ResolvedScalar.STR;
+        }
+        return resolveImplicit(value);
     }
 
     public Tag resolve(NodeId kind, String value, boolean implicit) {
         if (kind == NodeId.scalar && implicit) {
-            final List<com.mohistmc.snakeyaml.resolver.ResolverTuple> resolvers;
-            if (value.isEmpty()) {
-                resolvers = yamlImplicitResolvers.get('\0');
-            } else {
-                resolvers = yamlImplicitResolvers.get(value.charAt(0));
-            }
-            if (resolvers != null) {
-                for (com.mohistmc.snakeyaml.resolver.ResolverTuple v : resolvers) {
-                    Tag tag = v.tag();
-                    Pattern regexp = v.regexp();
-                    if (value.length() <= v.limit() && regexp.matcher(value).matches()) {
-                        return tag;
-                    }
-                }
-            }
-            if (yamlImplicitResolvers.containsKey(null)) {
-                // check null resolver
-                for (com.mohistmc.snakeyaml.resolver.ResolverTuple v : yamlImplicitResolvers.get(null)) {
-                    Tag tag = v.tag();
-                    Pattern regexp = v.regexp();
-                    if (value.length() <= v.limit() && regexp.matcher(value).matches()) {
-                        return tag;
-                    }
-                }
-            }
+            return resolveImplicit(value).tag();
         }
         return switch (kind) {
             case scalar -> Tag.STR;
@@ -147,4 +230,71 @@ public class Resolver {
             default -> Tag.MAP;
         };
     }
+
+    private ResolvedScalar resolveImplicit(String value) {
+        if (cache == null) {
+            return resolveImplicitScalar(value);
+        }
+        ResolvedScalar resolved = cache.get(value);
+        if (resolved != null) {
+            cacheHits++;
+            return resolved;
+        }
+        cacheMisses++;
+        resolved = resolveImplicitScalar(value);
+        cache.put(value, resolved);
+        return resolved;
+    }
+
+    /**
+     * Detect the type of plain scalar with the implicit resolvers
+     *
+     * @param value - the value of the scalar
+     * @return the tag, {@link Tag#STR} when no resolver matches
+     */
+    protected ResolvedScalar resolveImplicitScalar(String value) {
+        Tag tag = null;
+        if (!value.isEmpty()) {
+            char first = value.charAt(0);
+            List<ResolverTuple> resolvers =
+                    first < ASCII ? asciiResolvers[first] : nonAsciiResolvers.get(first);
+            if (resolvers != null) {
+                tag = match(resolvers, value);
+            }
+        }
+        if (tag == null) {
+            // check null resolver
+            tag = match(anyFirstResolvers, value);
+        }
+        return tag != null ? ResolvedScalar.of(tag) : ResolvedScalar.STR;
+    }
+
+    private static Tag match(List<ResolverTuple> resolvers, String value) {
+        for (ResolverTuple v : resolvers) {
+            if (value.length() <= v.limit() && v.regexp().matcher(value).matches()) {
+                return v.tag();
+            }
+        }
+        return null;
+    }
+
+    // the layout of yamlImplicitResolvers, built from the current resolvers when it is read
+    private final class ResolversView extends AbstractMap<Character, List<ResolverTuple>> {
+
+        @Override
+        public Set<Entry<Character, List<ResolverTuple>>> entrySet() {
+            Map<Character, List<ResolverTuple>> resolvers = new HashMap<>();
+            for (char chr = 0; chr < ASCII; chr++) {
+                if (asciiResolvers[chr] != null) {
+                    resolvers.put(chr, Collections.unmodifiableList(asciiResolvers[chr]));
+                }
+            }
+            nonAsciiResolvers.forEach(
+                    (chr, tuples) -> resolvers.put(chr, Collections.unmodifiableList(tuples)));
+            if (!anyFirstResolvers.isEmpty()) {
+                resolvers.put(null, Collections.unmodifiableList(anyFirstResolvers));
+            }
+            return Collections.unmodifiableMap(resolvers).entrySet();
+        }
+    }
 }
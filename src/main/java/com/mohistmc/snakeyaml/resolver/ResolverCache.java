@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) 2008, SnakeYAML
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.mohistmc.snakeyaml.resolver;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The resolved plain scalars by their value. When it is full the least recently used value is
+ * removed. It is not thread-safe, like the rest of the loading.
+ */
+final class ResolverCache extends LinkedHashMap<String, ResolvedScalar> {
+
+    private static final long serialVersionUID = -565457368594158284L;
+    private final int maxSize;
+
+    /**
+     * Create
+     *
+     * @param maxSize - the max amount of values to keep
+     */
+    ResolverCache(int maxSize) {
+        super(16, 0.75f, true);
+        this.maxSize = maxSize;
+    }
+
+    int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, ResolvedScalar> eldest) {
+        return size() > maxSize;
+    }
+}
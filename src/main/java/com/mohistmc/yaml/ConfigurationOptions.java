@@ -10,6 +10,7 @@ public class ConfigurationOptions {
     private final Configuration configuration;
     private char pathSeparator = '.';
     private boolean copyDefaults = false;
+    private SectionMapFactory mapFactory = SectionMapFactory.LINKED_HASH_MAP;
 
     protected ConfigurationOptions(@NotNull Configuration configuration) {
         this.configuration = configuration;
@@ -92,4 +93,35 @@ public class ConfigurationOptions {
         this.copyDefaults = value;
         return this;
     }
+
+    /**
+     * Gets the factory of the maps which keep the entries of the sections.
+     * <p>
+     * The default factory creates a {@link java.util.LinkedHashMap} sized for
+     * the entries the section is created with.
+     *
+     * @return Map factory
+     */
+    @NotNull
+    public SectionMapFactory mapFactory() {
+        return mapFactory;
+    }
+
+    /**
+     * Sets the factory of the maps which keep the entries of the sections.
+     * <p>
+     * It is used for the sections created after this call, the root section
+     * of the {@link Configuration} uses it when it is loaded again. A
+     * factory of compact maps lowers the memory and the rehashing of wide
+     * sections.
+     *
+     * @param value Map factory
+     * @return This object, for chaining
+     */
+    @NotNull
+    public ConfigurationOptions mapFactory(@NotNull SectionMapFactory value) {
+        YamlUtil.checkArgument(value != null, "Map factory cannot be null");
+        this.mapFactory = value;
+        return this;
+    }
 }
@@ -0,0 +1,96 @@
+package com.mohistmc.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The expected types of the values of a configuration by their path.
+ * <p>
+ * The values loaded at these paths are kept unboxed, so
+ * {@link ConfigurationSection#getInt(String)} and the other primitive
+ * getters read them without creating objects. A value keeps the type it is
+ * loaded with ({@link Object} getters and saving are not affected), and a
+ * value which does not fit the expected type is loaded as usual.
+ * <p>
+ * The paths use the path separator of the configuration.
+ */
+public final class ConfigurationSchema {
+    private final Map<String, Type> types = new HashMap<>();
+
+    /**
+     * The type of the value of a path.
+     */
+    public enum Type {
+        INT,
+        LONG,
+        DOUBLE,
+        BOOLEAN;
+
+        /**
+         * Gets whether a value of this type is a number.
+         *
+         * @return True for INT, LONG and DOUBLE
+         */
+        public boolean isNumber() {
+            return this != BOOLEAN;
+        }
+    }
+
+    /**
+     * Sets the expected type of the value at the specified path.
+     *
+     * @param path Full path of the value.
+     * @param type Expected type of the value.
+     * @return This object, for chaining
+     */
+    @NotNull
+    public ConfigurationSchema add(@NotNull String path, @NotNull Type type) {
+        YamlUtil.checkArgument(!YamlUtil.isNullOrEmpty(path), "Path cannot be null or empty");
+        YamlUtil.checkArgument(type != null, "Type cannot be null");
+        types.put(path, type);
+        return this;
+    }
+
+    /**
+     * Gets the expected type of the value at the specified path.
+     *
+     * @param path Full path of the value.
+     * @return The expected type, or null if the path is not in the schema.
+     */
+    @Nullable
+    public Type getType(@NotNull String path) {
+        return types.get(path);
+    }
+
+    /**
+     * Gets the expected types grouped by their sections, so a section is
+     * looked up once and its values only by their keys.
+     *
+     * @param separator Path separator of the configuration.
+     * @return The types by their keys, by the full paths of their sections
+     *         (an empty path for the root).
+     */
+    @NotNull
+    public Map<String, Map<String, Type>> getSectionTypes(char separator) {
+        Map<String, Map<String, Type>> sections = new HashMap<>();
+        for (Map.Entry<String, Type> entry : types.entrySet()) {
+            String path = entry.getKey();
+            int index = path.lastIndexOf(separator);
+            String section = index == -1 ? "" : path.substring(0, index);
+            sections.computeIfAbsent(section, k -> new HashMap<>()).put(path.substring(index + 1), entry.getValue());
+        }
+        return sections;
+    }
+
+    /**
+     * Gets whether no path is in the schema.
+     *
+     * @return True if the schema is empty
+     */
+    public boolean isEmpty() {
+        return types.isEmpty();
+    }
+}
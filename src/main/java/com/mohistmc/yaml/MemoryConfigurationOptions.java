@@ -30,4 +30,11 @@ public class MemoryConfigurationOptions extends ConfigurationOptions {
         super.pathSeparator(value);
         return this;
     }
+
+    @NotNull
+    @Override
+    public MemoryConfigurationOptions mapFactory(@NotNull SectionMapFactory value) {
+        super.mapFactory(value);
+        return this;
+    }
 }
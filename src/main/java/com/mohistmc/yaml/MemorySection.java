@@ -22,11 +22,19 @@ import static com.mohistmc.yaml.util.NumberConversions.toLong;
  * A type of {@link ConfigurationSection} that is stored in memory.
  */
 public class MemorySection implements ConfigurationSection {
-    protected final Map<String, SectionPathData> map = new LinkedHashMap<>();
+    /**
+     * The entries of this section. A section which shares the contents of a
+     * template keeps it empty until the contents are copied, and
+     * {@link #clearEntries(int)} replaces it. Use {@link #entries()} to
+     * access the entries instead of reading this field.
+     */
+    protected Map<String, SectionPathData> map;
     private final Configuration root;
     private final ConfigurationSection parent;
     private final String path;
     private final String fullPath;
+    // the section whose contents are copied on the first access, see createSharedSection
+    private MemorySection template;
 
     /**
      * Creates an empty MemorySection for use as a root {@link Configuration}
@@ -47,6 +55,7 @@ public class MemorySection implements ConfigurationSection {
         this.fullPath = "";
         this.parent = null;
         this.root = (Configuration) this;
+        this.map = SectionMapFactory.LINKED_HASH_MAP.createMap(0);
     }
 
     /**
@@ -59,6 +68,23 @@ public class MemorySection implements ConfigurationSection {
      *                                  if parent contains no root Configuration.
      */
     protected MemorySection(@NotNull ConfigurationSection parent, @NotNull String path) {
+        this(parent, path, 0);
+    }
+
+    /**
+     * Creates an empty MemorySection with the specified parent and path, its
+     * map is created for the given amount of entries by the
+     * {@link ConfigurationOptions#mapFactory()} of the root.
+     *
+     * @param parent       Parent section that contains this own section.
+     * @param path         Path that you may access this section from via the
+     *                     root {@link Configuration}.
+     * @param expectedSize The amount of entries the section will be filled
+     *                     with, or 0 when it is not known.
+     * @throws IllegalArgumentException Thrown is parent or path is null, or
+     *                                  if parent contains no root Configuration.
+     */
+    protected MemorySection(@NotNull ConfigurationSection parent, @NotNull String path, int expectedSize) {
         YamlUtil.checkArgument(parent != null, "Parent cannot be null");
         YamlUtil.checkArgument(path != null, "Path cannot be null");
 
@@ -69,6 +95,22 @@ public class MemorySection implements ConfigurationSection {
         YamlUtil.checkArgument(root != null, "Path cannot be orphaned");
 
         this.fullPath = createPath(parent, path);
+        this.map = root.options().mapFactory().createMap(expectedSize);
+    }
+
+    /**
+     * Creates a MemorySection with the specified parent and path which
+     * shares the contents of the template until it is accessed.
+     *
+     * @param parent   Parent section that contains this own section.
+     * @param path     Path that you may access this section from via the root
+     *                 {@link Configuration}.
+     * @param template Section to copy the contents from. It must not be
+     *                 modified afterwards.
+     */
+    private MemorySection(@NotNull ConfigurationSection parent, @NotNull String path, @NotNull MemorySection template) {
+        this(parent, path, template.template == null ? template.map.size() : 0);
+        this.template = template;
     }
 
     /**
@@ -271,11 +313,11 @@ public class MemorySection implements ConfigurationSection {
         String key = path.substring(i2);
         if (section == this) {
             if (value == null) {
-                map.remove(key);
+                entries().remove(key);
             } else {
-                SectionPathData entry = map.get(key);
+                SectionPathData entry = entries().get(key);
                 if (entry == null) {
-                    map.put(key, new SectionPathData(value));
+                    entries().put(key, new SectionPathData(value));
                 } else {
                     entry.setData(value);
                 }
@@ -285,6 +327,92 @@ public class MemorySection implements ConfigurationSection {
         }
     }
 
+    /**
+     * Sets the specified path to the given int. The value is kept unboxed
+     * and it is read as an {@link Integer}.
+     * <p>
+     * Any value that was previously set at this path will be overwritten,
+     * the comments are kept.
+     *
+     * @param path  Path of the object to set.
+     * @param value New value to set the path to.
+     */
+    public void setInt(@NotNull String path, int value) {
+        setPrimitive(path, PrimitivePathData.ofInt(value));
+    }
+
+    /**
+     * Sets the specified path to the given long. The value is kept unboxed
+     * and it is read as a {@link Long}.
+     * <p>
+     * Any value that was previously set at this path will be overwritten,
+     * the comments are kept.
+     *
+     * @param path  Path of the object to set.
+     * @param value New value to set the path to.
+     */
+    public void setLong(@NotNull String path, long value) {
+        setPrimitive(path, PrimitivePathData.ofLong(value));
+    }
+
+    /**
+     * Sets the specified path to the given double. The value is kept unboxed
+     * and it is read as a {@link Double}.
+     * <p>
+     * Any value that was previously set at this path will be overwritten,
+     * the comments are kept.
+     *
+     * @param path  Path of the object to set.
+     * @param value New value to set the path to.
+     */
+    public void setDouble(@NotNull String path, double value) {
+        setPrimitive(path, PrimitivePathData.ofDouble(value));
+    }
+
+    /**
+     * Sets the specified path to the given boolean. The value is kept
+     * unboxed and it is read as a {@link Boolean}.
+     * <p>
+     * Any value that was previously set at this path will be overwritten,
+     * the comments are kept.
+     *
+     * @param path  Path of the object to set.
+     * @param value New value to set the path to.
+     */
+    public void setBoolean(@NotNull String path, boolean value) {
+        setPrimitive(path, PrimitivePathData.ofBoolean(value));
+    }
+
+    private void setPrimitive(@NotNull String path, @NotNull PrimitivePathData data) {
+        YamlUtil.checkArgument(!YamlUtil.isNullOrEmpty(path), "Cannot set to an empty path");
+        Configuration root = getRoot();
+        if (root == null) {
+            throw new IllegalStateException("Cannot use section without a root");
+        }
+
+        final char separator = root.options().pathSeparator();
+        int index = path.lastIndexOf(separator);
+        if (index != -1) {
+            ConfigurationSection parent = getConfigurationSection(path.substring(0, index));
+            if (parent == null) {
+                parent = createSection(path.substring(0, index));
+            }
+            if (parent instanceof MemorySection memorySection) {
+                memorySection.setPrimitive(path.substring(index + 1), data);
+            } else {
+                parent.set(path.substring(index + 1), data.getData());
+            }
+            return;
+        }
+
+        SectionPathData previous = entries().get(path);
+        if (previous != null) {
+            data.setComments(previous.getComments());
+            data.setInlineComments(previous.getInlineComments());
+        }
+        entries().put(path, data);
+    }
+
     @Override
     @Nullable
     public Object get(@NotNull String path) {
@@ -324,7 +452,7 @@ public class MemorySection implements ConfigurationSection {
 
         String key = path.substring(i2);
         if (section == this) {
-            SectionPathData result = map.get(key);
+            SectionPathData result = entries().get(key);
             return (result == null) ? def : result.getData();
         }
         return section.get(key, def);
@@ -333,6 +461,24 @@ public class MemorySection implements ConfigurationSection {
     @Override
     @NotNull
     public ConfigurationSection createSection(@NotNull String path) {
+        return createSection(path, 0);
+    }
+
+    /**
+     * Creates an empty {@link ConfigurationSection} at the specified path
+     * which is sized for the given amount of entries.
+     * <p>
+     * Any value that was previously set at this path will be overwritten. If
+     * the previous value was itself a {@link ConfigurationSection}, it will
+     * be orphaned.
+     *
+     * @param path         Path to create the section at.
+     * @param expectedSize The amount of entries the section will be filled
+     *                     with, or 0 when it is not known.
+     * @return Newly created section
+     */
+    @NotNull
+    public ConfigurationSection createSection(@NotNull String path, int expectedSize) {
         YamlUtil.checkArgument(!YamlUtil.isNullOrEmpty(path), "Cannot create section at empty path");
         Configuration root = getRoot();
         if (root == null) {
@@ -356,17 +502,20 @@ public class MemorySection implements ConfigurationSection {
 
         String key = path.substring(i2);
         if (section == this) {
-            ConfigurationSection result = new MemorySection(this, key);
-            map.put(key, new SectionPathData(result));
+            ConfigurationSection result = new MemorySection(this, key, expectedSize);
+            entries().put(key, new SectionPathData(result));
             return result;
         }
+        if (section instanceof MemorySection memorySection) {
+            return memorySection.createSection(key, expectedSize);
+        }
         return section.createSection(key);
     }
 
     @Override
     @NotNull
     public ConfigurationSection createSection(@NotNull String path, @NotNull Map<?, ?> map) {
-        ConfigurationSection section = createSection(path);
+        ConfigurationSection section = createSection(path, map.size());
 
         for (Map.Entry<?, ?> entry : map.entrySet()) {
             if (entry.getValue() instanceof Map) {
@@ -380,6 +529,50 @@ public class MemorySection implements ConfigurationSection {
     }
 
     // Primitives
+    /**
+     * Creates a {@link ConfigurationSection} at the specified path which
+     * shares the contents of the given template. The values and the comments
+     * are copied from the template only when the section is accessed, and the
+     * nested sections are copied in the same way only when they are accessed.
+     * It makes the repeated parts of a configuration (such as the YAML
+     * aliases) cheap until they are used.
+     * <p>
+     * The template must not be modified after it is shared, the values which
+     * are not sections are shared and not copied.
+     * <p>
+     * Any value that was previously set at this path will be overwritten.
+     *
+     * @param path     Path to create the section at.
+     * @param template The section to share.
+     * @return Newly created section
+     */
+    @NotNull
+    public ConfigurationSection createSharedSection(@NotNull String path, @NotNull MemorySection template) {
+        YamlUtil.checkArgument(!YamlUtil.isNullOrEmpty(path), "Cannot create section at empty path");
+        YamlUtil.checkArgument(template != null, "Template cannot be null");
+        Configuration root = getRoot();
+        if (root == null) {
+            throw new IllegalStateException("Cannot create section without a root");
+        }
+
+        final char separator = root.options().pathSeparator();
+        int index = path.lastIndexOf(separator);
+        if (index != -1) {
+            ConfigurationSection parent = getConfigurationSection(path.substring(0, index));
+            if (parent == null) {
+                parent = createSection(path.substring(0, index));
+            }
+            if (!(parent instanceof MemorySection memorySection)) {
+                throw new IllegalStateException("Cannot share a section with " + parent.getClass().getName());
+            }
+            return memorySection.createSharedSection(path.substring(index + 1), template);
+        }
+
+        ConfigurationSection result = new MemorySection(this, path, template);
+        entries().put(path, new SectionPathData(result));
+        return result;
+    }
+
     @Override
     @Nullable
     public String getString(@NotNull String path) {
@@ -409,7 +602,11 @@ public class MemorySection implements ConfigurationSection {
 
     @Override
     public int getInt(@NotNull String path, int def) {
-        Object val = get(path, def);
+        SectionPathData entry = findEntry(path);
+        if (entry instanceof PrimitivePathData primitive && primitive.isNumber()) {
+            return primitive.intValue();
+        }
+        Object val = entry != null ? entry.getData() : get(path, def);
         return (val instanceof Number) ? toInt(val) : def;
     }
 
@@ -427,7 +624,11 @@ public class MemorySection implements ConfigurationSection {
 
     @Override
     public boolean getBoolean(@NotNull String path, boolean def) {
-        Object val = get(path, def);
+        SectionPathData entry = findEntry(path);
+        if (entry instanceof PrimitivePathData primitive && primitive.isBoolean()) {
+            return primitive.booleanValue();
+        }
+        Object val = entry != null ? entry.getData() : get(path, def);
         return (val instanceof Boolean) ? (Boolean) val : def;
     }
 
@@ -445,7 +646,11 @@ public class MemorySection implements ConfigurationSection {
 
     @Override
     public double getDouble(@NotNull String path, double def) {
-        Object val = get(path, def);
+        SectionPathData entry = findEntry(path);
+        if (entry instanceof PrimitivePathData primitive && primitive.isNumber()) {
+            return primitive.doubleValue();
+        }
+        Object val = entry != null ? entry.getData() : get(path, def);
         return (val instanceof Number) ? toDouble(val) : def;
     }
 
@@ -463,7 +668,11 @@ public class MemorySection implements ConfigurationSection {
 
     @Override
     public long getLong(@NotNull String path, long def) {
-        Object val = get(path, def);
+        SectionPathData entry = findEntry(path);
+        if (entry instanceof PrimitivePathData primitive && primitive.isNumber()) {
+            return primitive.longValue();
+        }
+        Object val = entry != null ? entry.getData() : get(path, def);
         return (val instanceof Number) ? toLong(val) : def;
     }
 
@@ -829,7 +1038,7 @@ public class MemorySection implements ConfigurationSection {
     protected void mapChildrenKeys(@NotNull Set<String> output, @NotNull ConfigurationSection section, boolean deep) {
         if (section instanceof MemorySection sec) {
 
-            for (Map.Entry<String, SectionPathData> entry : sec.map.entrySet()) {
+            for (Map.Entry<String, SectionPathData> entry : sec.entries().entrySet()) {
                 output.add(createPath(section, entry.getKey(), this));
 
                 if ((deep) && (entry.getValue().getData() instanceof ConfigurationSection subsection)) {
@@ -848,7 +1057,7 @@ public class MemorySection implements ConfigurationSection {
     protected void mapChildrenValues(@NotNull Map<String, Object> output, @NotNull ConfigurationSection section, boolean deep) {
         if (section instanceof MemorySection sec) {
 
-            for (Map.Entry<String, SectionPathData> entry : sec.map.entrySet()) {
+            for (Map.Entry<String, SectionPathData> entry : sec.entries().entrySet()) {
                 // Because of the copyDefaults call potentially copying out of order, we must remove and then add in our saved order
                 // This means that default values we haven't set end up getting placed first
                 // See SPIGOT-4558 for an example using spigot.yml - watch subsections move around to default order
@@ -924,13 +1133,91 @@ public class MemorySection implements ConfigurationSection {
 
         String key = path.substring(i2);
         if (section == this) {
-            return map.get(key);
+            return entries().get(key);
         } else if (section instanceof MemorySection) {
             return ((MemorySection) section).getSectionPathData(key);
         }
         return null;
     }
 
+    /**
+     * Finds the entry at the specified path without boxing the default value
+     * of the primitive getters. It walks only through {@link MemorySection}s
+     * and does not look at the defaults, like {@link #get(String, Object)}.
+     *
+     * @param path Path of the entry.
+     * @return The entry, or null if it is missing or cannot be found this way
+     */
+    @Nullable
+    private SectionPathData findEntry(@NotNull String path) {
+        YamlUtil.checkArgument(path != null, "Path cannot be null");
+        Configuration root = getRoot();
+        if (root == null || path.isEmpty()) {
+            return null;
+        }
+
+        final char separator = root.options().pathSeparator();
+        // i1 is the leading (higher) index
+        // i2 is the trailing (lower) index
+        int i1 = -1, i2;
+        MemorySection section = this;
+        while ((i1 = path.indexOf(separator, i2 = i1 + 1)) != -1) {
+            SectionPathData entry = section.entries().get(path.substring(i2, i1));
+            if (entry == null || !(entry.getData() instanceof MemorySection child)) {
+                return null;
+            }
+            section = child;
+        }
+        return section.entries().get(path.substring(i2));
+    }
+
+    /**
+     * Removes all the entries of this section. The new map is created for the
+     * given amount of entries by the {@link ConfigurationOptions#mapFactory()}
+     * of the root.
+     *
+     * @param expectedSize The amount of entries the section will be filled
+     *                     with, or 0 when it is not known.
+     */
+    protected void clearEntries(int expectedSize) {
+        template = null;
+        map = getRoot().options().mapFactory().createMap(expectedSize);
+    }
+
+    /**
+     * Gets the entries of this section, the shared contents are copied first.
+     * <p>
+     * Subclasses must use this method instead of reading {@link #map}, which
+     * is empty while the contents are shared.
+     *
+     * @return The entries which may be modified
+     */
+    @NotNull
+    protected Map<String, SectionPathData> entries() {
+        if (template != null) {
+            MemorySection source = template;
+            template = null;
+            for (Map.Entry<String, SectionPathData> entry : source.entries().entrySet()) {
+                SectionPathData sourceData = entry.getValue();
+                SectionPathData data;
+                if (sourceData instanceof PrimitivePathData primitive
+                        && (primitive.isNumber() || primitive.isBoolean())) {
+                    data = primitive.copy();
+                } else {
+                    Object value = sourceData.getData();
+                    if (value instanceof MemorySection section) {
+                        value = new MemorySection(this, entry.getKey(), section);
+                    }
+                    data = new SectionPathData(value);
+                }
+                data.setComments(sourceData.getComments());
+                data.setInlineComments(sourceData.getInlineComments());
+                map.put(entry.getKey(), data);
+            }
+        }
+        return map;
+    }
+
     @Override
     public String toString() {
         Configuration root = getRoot();
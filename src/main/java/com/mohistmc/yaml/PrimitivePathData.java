@@ -0,0 +1,102 @@
+package com.mohistmc.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@link SectionPathData} which keeps a number or a boolean unboxed. The
+ * value is boxed only when it is read as an object, and the entry keeps any
+ * object set later like a usual entry.
+ */
+final class PrimitivePathData extends SectionPathData {
+
+    // null once an object is set
+    private ConfigurationSchema.Type type;
+    private long bits;
+
+    private PrimitivePathData(@NotNull ConfigurationSchema.Type type, long bits) {
+        super(null);
+        this.type = type;
+        this.bits = bits;
+    }
+
+    @NotNull
+    static PrimitivePathData ofInt(int value) {
+        return new PrimitivePathData(ConfigurationSchema.Type.INT, value);
+    }
+
+    @NotNull
+    static PrimitivePathData ofLong(long value) {
+        return new PrimitivePathData(ConfigurationSchema.Type.LONG, value);
+    }
+
+    @NotNull
+    static PrimitivePathData ofDouble(double value) {
+        return new PrimitivePathData(ConfigurationSchema.Type.DOUBLE, Double.doubleToRawLongBits(value));
+    }
+
+    @NotNull
+    static PrimitivePathData ofBoolean(boolean value) {
+        return new PrimitivePathData(ConfigurationSchema.Type.BOOLEAN, value ? 1 : 0);
+    }
+
+    @Nullable
+    @Override
+    public Object getData() {
+        if (type == null) {
+            return super.getData();
+        }
+        return switch (type) {
+            case INT -> (int) bits;
+            case LONG -> bits;
+            case DOUBLE -> Double.longBitsToDouble(bits);
+            case BOOLEAN -> bits != 0;
+        };
+    }
+
+    @Override
+    public void setData(@Nullable Object data) {
+        type = null;
+        super.setData(data);
+    }
+
+    /**
+     * @return Whether the value is an unboxed number
+     */
+    boolean isNumber() {
+        return type != null && type.isNumber();
+    }
+
+    /**
+     * @return Whether the value is an unboxed boolean
+     */
+    boolean isBoolean() {
+        return type == ConfigurationSchema.Type.BOOLEAN;
+    }
+
+    // the conversions of Number.intValue(), longValue() and doubleValue()
+
+    int intValue() {
+        return type == ConfigurationSchema.Type.DOUBLE ? (int) Double.longBitsToDouble(bits) : (int) bits;
+    }
+
+    long longValue() {
+        return type == ConfigurationSchema.Type.DOUBLE ? (long) Double.longBitsToDouble(bits) : bits;
+    }
+
+    double doubleValue() {
+        return type == ConfigurationSchema.Type.DOUBLE ? Double.longBitsToDouble(bits) : (double) bits;
+    }
+
+    boolean booleanValue() {
+        return bits != 0;
+    }
+
+    /**
+     * @return A new entry with the same value, without the comments
+     */
+    @NotNull
+    PrimitivePathData copy() {
+        return new PrimitivePathData(type, bits);
+    }
+}
@@ -0,0 +1,42 @@
+package com.mohistmc.yaml;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Creates the maps which keep the entries of the {@link MemorySection}s.
+ * <p>
+ * The map must keep the insertion order of the keys, it is the order in
+ * which the configuration is saved.
+ */
+@FunctionalInterface
+public interface SectionMapFactory {
+
+    /**
+     * The default factory, it creates a {@link LinkedHashMap} large enough
+     * for the expected amount of entries.
+     */
+    SectionMapFactory LINKED_HASH_MAP = new SectionMapFactory() {
+        @Override
+        @NotNull
+        public <V> Map<String, V> createMap(int expectedSize) {
+            if (expectedSize <= 0) {
+                return new LinkedHashMap<>();
+            }
+            return new LinkedHashMap<>((int) Math.ceil(expectedSize / 0.75));
+        }
+    };
+
+    /**
+     * Creates an empty insertion ordered map.
+     *
+     * @param expectedSize The amount of entries the section is created with,
+     *                     or 0 when it is not known.
+     * @param <V>          Type of the values
+     * @return The new map
+     */
+    @NotNull
+    <V> Map<String, V> createMap(int expectedSize);
+}
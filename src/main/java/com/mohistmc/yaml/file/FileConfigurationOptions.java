@@ -2,6 +2,7 @@ package com.mohistmc.yaml.file;
 
 import com.mohistmc.yaml.MemoryConfiguration;
 import com.mohistmc.yaml.MemoryConfigurationOptions;
+import com.mohistmc.yaml.SectionMapFactory;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -41,6 +42,13 @@ public class FileConfigurationOptions extends MemoryConfigurationOptions {
         return this;
     }
 
+    @NotNull
+    @Override
+    public FileConfigurationOptions mapFactory(@NotNull SectionMapFactory value) {
+        super.mapFactory(value);
+        return this;
+    }
+
     /**
      * Gets the header that will be applied to the top of the saved output.
      * <p>
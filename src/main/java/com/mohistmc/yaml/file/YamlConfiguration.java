@@ -1,11 +1,15 @@
 package com.mohistmc.yaml.file;
 
 import com.mohistmc.yaml.Configuration;
+import com.mohistmc.yaml.ConfigurationSchema;
 import com.mohistmc.yaml.ConfigurationSection;
 import com.mohistmc.yaml.InvalidConfigurationException;
+import com.mohistmc.yaml.MemoryConfiguration;
+import com.mohistmc.yaml.MemorySection;
 import com.mohistmc.yaml.YamlUtil;
 import com.mohistmc.yaml.serialization.ConfigurationSerialization;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import com.mohistmc.snakeyaml.DumperOptions;
 import com.mohistmc.snakeyaml.LoaderOptions;
 import com.mohistmc.snakeyaml.Yaml;
@@ -16,19 +20,34 @@ import com.mohistmc.snakeyaml.nodes.AnchorNode;
 import com.mohistmc.snakeyaml.nodes.MappingNode;
 import com.mohistmc.snakeyaml.nodes.Node;
 import com.mohistmc.snakeyaml.nodes.NodeTuple;
+import com.mohistmc.snakeyaml.nodes.ParsedScalarNode;
+import com.mohistmc.snakeyaml.nodes.PersistentNode;
 import com.mohistmc.snakeyaml.nodes.ScalarNode;
 import com.mohistmc.snakeyaml.nodes.SequenceNode;
 import com.mohistmc.snakeyaml.nodes.Tag;
 import com.mohistmc.snakeyaml.reader.UnicodeReader;
+import com.mohistmc.snakeyaml.resolver.FastResolver;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -40,11 +59,19 @@ import java.util.logging.Logger;
  * Note that this implementation is not synchronized.
  */
 public class YamlConfiguration extends FileConfiguration {
+    /**
+     * The max size of a loaded configuration with its aliases expanded, in
+     * YAML nodes. The amount of the aliases is not limited for compatibility,
+     * the expanded size stops the exponential expansion of nested aliases.
+     */
+    private static final long MAX_EXPANDED_NODES = 10_000_000L;
     private final DumperOptions yamlDumperOptions;
     private final LoaderOptions yamlLoaderOptions;
     private final YamlConstructor constructor;
     private final YamlRepresenter representer;
     private final Yaml yaml;
+    // the same as yaml with the FastResolver, created when it is enabled by the options
+    private Yaml fastYaml;
 
     public YamlConfiguration() {
 
@@ -53,6 +80,7 @@ public class YamlConfiguration extends FileConfiguration {
         yamlLoaderOptions = new LoaderOptions();
         yamlLoaderOptions.setMaxAliasesForCollections(Integer.MAX_VALUE); // SPIGOT-5881: Not ideal, but was default pre SnakeYAML 1.26
         yamlLoaderOptions.setCodePointLimit(Integer.MAX_VALUE); // SPIGOT-7161: Not ideal, but was default pre SnakeYAML 1.32
+        yamlLoaderOptions.setMaxExpandedNodes(MAX_EXPANDED_NODES); // bounds the aliases instead of their amount
 
         constructor = new YamlConstructor(yamlLoaderOptions);
         representer = new YamlRepresenter(yamlDumperOptions);
@@ -61,6 +89,24 @@ public class YamlConfiguration extends FileConfiguration {
         yaml = new Yaml(constructor, representer, yamlDumperOptions, yamlLoaderOptions);
     }
 
+    /**
+     * Gets the Yaml instance which resolves the scalars as configured by
+     * {@link YamlConfigurationOptions#fastResolver(boolean)}.
+     *
+     * @return The Yaml instance to load and save with
+     */
+    @NotNull
+    private Yaml yaml() {
+        // the FastResolver only implements the YAML 1.1 tags, not the core schema
+        if (!options().fastResolver() || yamlLoaderOptions.isCoreSchema()) {
+            return yaml;
+        }
+        if (fastYaml == null) {
+            fastYaml = new Yaml(constructor, representer, yamlDumperOptions, yamlLoaderOptions, new FastResolver());
+        }
+        return fastYaml;
+    }
+
     /**
      * Creates a new {@link YamlConfiguration}, loading from the given file.
      * <p>
@@ -135,35 +181,193 @@ public class YamlConfiguration extends FileConfiguration {
             if (node.getValue().isEmpty()) {
                 node.setFlowStyle(DumperOptions.FlowStyle.FLOW);
             }
-            yaml.serialize(node, writer);
+            yaml().serialize(node, writer);
         }
         return writer.toString();
     }
 
+    /**
+     * Loads this configuration from the specified file.
+     * <p>
+     * If an up-to-date snapshot of the file exists (see
+     * {@link #saveSnapshot(File)}), the parsed events are read from the
+     * snapshot and the text is not scanned again. Otherwise the file is
+     * parsed as usual. A damaged snapshot is ignored.
+     * <p>
+     * The snapshot is not used by the subclasses which override
+     * {@link #loadFromString(String)}, their files are always parsed by it.
+     *
+     * @param file File to load from.
+     * @throws FileNotFoundException         Thrown when the given file cannot be
+     *                                       opened.
+     * @throws IOException                   Thrown when the given file cannot be read.
+     * @throws InvalidConfigurationException Thrown when the given file is not
+     *                                       a valid Configuration.
+     * @throws IllegalArgumentException      Thrown when file is null.
+     */
     @Override
-    public void loadFromString(@NotNull String contents) throws InvalidConfigurationException {
-        YamlUtil.checkArgument(contents != null, "Contents cannot be null");
+    public void load(@NotNull File file) throws FileNotFoundException, IOException, InvalidConfigurationException {
+        YamlUtil.checkArgument(file != null, "File cannot be null");
+
+        byte[] contents;
+        try (InputStream stream = new FileInputStream(file)) {
+            contents = stream.readAllBytes();
+        }
+
         yamlLoaderOptions.setProcessComments(options().parseComments());
+        Node snapshotNode = null;
+        if (!overridesLoadFromString()) {
+            try (InputStream snapshot = YamlSnapshot.open(file, contents, options().parseComments())) {
+                if (snapshot != null) {
+                    snapshotNode = yaml().composeEventLog(snapshot);
+                }
+            } catch (RuntimeException | IOException ignored) {
+                // a broken snapshot is ignored, the file is parsed instead
+            }
+        }
+
+        if (snapshotNode != null) {
+            loadFromNode(snapshotNode);
+        } else {
+            load(new InputStreamReader(new ByteArrayInputStream(contents), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Writes a precompiled snapshot of the given file next to it as
+     * {@code <name>.snapshot}. The snapshot keeps the parsed structure with
+     * the comments (when {@link YamlConfigurationOptions#parseComments()} is
+     * enabled) and the serialized form of the
+     * {@link com.mohistmc.yaml.serialization.ConfigurationSerializable}
+     * objects, so {@link #load(File)} and {@link #loadConfiguration(File)}
+     * can skip the parsing while the file is unchanged.
+     *
+     * @param file The configuration file to precompile
+     * @throws IOException                   Thrown when the file cannot be read
+     *                                       or the snapshot cannot be written.
+     * @throws InvalidConfigurationException Thrown when the given file is not
+     *                                       valid YAML.
+     * @throws IllegalArgumentException      Thrown when file is null.
+     */
+    public void saveSnapshot(@NotNull File file) throws IOException, InvalidConfigurationException {
+        YamlUtil.checkArgument(file != null, "File cannot be null");
+
+        byte[] contents;
+        try (InputStream stream = new FileInputStream(file)) {
+            contents = stream.readAllBytes();
+        }
 
-        MappingNode node;
-        try (Reader reader = new UnicodeReader(new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8)))) {
-            Node rawNode = yaml.compose(reader);
+        yamlLoaderOptions.setProcessComments(options().parseComments());
+        File snapshot = YamlSnapshot.snapshotFile(file);
+        // written aside and moved, so a reader never sees a half written snapshot
+        File temp = File.createTempFile(snapshot.getName(), ".tmp", snapshot.getAbsoluteFile().getParentFile());
+        boolean written = false;
+        try {
+            // the same text as load(File) parses
+            ByteArrayOutputStream events = new ByteArrayOutputStream();
+            try (Reader reader = createReader(readText(contents))) {
+                yaml().writeEventLog(reader, events, false);
+            } catch (YAMLException e) {
+                throw new InvalidConfigurationException(e);
+            }
+            try (OutputStream output = new BufferedOutputStream(new FileOutputStream(temp))) {
+                YamlSnapshot.write(output, contents, options().parseComments(), events.toByteArray());
+            }
             try {
-                node = (MappingNode) rawNode;
-            } catch (ClassCastException e) {
-                throw new InvalidConfigurationException("Top level is not a Map.");
+                Files.move(temp.toPath(), snapshot.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), snapshot.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            written = true;
+        } finally {
+            if (!written) {
+                temp.delete();
+            }
+        }
+    }
+
+    /**
+     * Reads the contents of a file the same way as {@link #load(File)}
+     * does, see {@link FileConfiguration#load(Reader)}.
+     */
+    @NotNull
+    private static String readText(byte[] contents) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        try (BufferedReader input = new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(contents), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = input.readLine()) != null) {
+                builder.append(line);
+                builder.append('\n');
             }
-        } catch (YAMLException | IOException | ClassCastException e) {
+        }
+        return builder.toString();
+    }
+
+    @NotNull
+    private static Reader createReader(@NotNull String contents) {
+        return new UnicodeReader(new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * @return true if a subclass parses the text by its own
+     *         {@link #loadFromString(String)}
+     */
+    private boolean overridesLoadFromString() {
+        try {
+            return getClass().getMethod("loadFromString", String.class).getDeclaringClass() != YamlConfiguration.class;
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+
+    @Override
+    public void loadFromString(@NotNull String contents) throws InvalidConfigurationException {
+        YamlUtil.checkArgument(contents != null, "Contents cannot be null");
+        yamlLoaderOptions.setProcessComments(options().parseComments());
+
+        Node rawNode;
+        try (Reader reader = createReader(contents)) {
+            rawNode = yaml().compose(reader);
+        } catch (YAMLException | IOException e) {
             throw new InvalidConfigurationException(e);
         }
+        loadFromNode(rawNode);
+    }
+
+    /**
+     * Loads this configuration from an immutable node tree, for example a
+     * variant derived from a template with
+     * {@link PersistentNode#with(String, PersistentNode)}. The tree is not
+     * modified, so the same template can be loaded any number of times.
+     *
+     * @param node The root of the tree
+     * @throws InvalidConfigurationException Thrown when the root is not a
+     *                                       mapping.
+     * @throws IllegalArgumentException      Thrown when node is null.
+     */
+    public void loadFromNode(@NotNull PersistentNode node) throws InvalidConfigurationException {
+        YamlUtil.checkArgument(node != null, "Node cannot be null");
+        yamlLoaderOptions.setProcessComments(options().parseComments());
+        loadFromNode(node.toNode());
+    }
+
+    private void loadFromNode(Node rawNode) throws InvalidConfigurationException {
+        if (rawNode != null && !(rawNode instanceof MappingNode)) {
+            throw new InvalidConfigurationException("Top level is not a Map.");
+        }
+        MappingNode node = (MappingNode) rawNode;
 
-        this.map.clear();
+        clearEntries(node == null ? 0 : node.getValue().size());
 
         if (node != null) {
             adjustNodeComments(node);
             options().setHeader(loadHeader(getCommentLines(node.getBlockComments())));
             options().setFooter(getCommentLines(node.getEndComments()));
-            fromNodeTree(node, this);
+            ConfigurationSchema schema = options().schema();
+            fromNodeTree(node, this, options().shareAliases() ? new SharedSections(options().pathSeparator()) : null,
+                    schema == null || schema.isEmpty() ? null : schema.getSectionTypes(options().pathSeparator()));
         }
     }
 
@@ -192,8 +396,10 @@ public class YamlConfiguration extends FileConfiguration {
         }
     }
 
-    private void fromNodeTree(@NotNull MappingNode input, @NotNull ConfigurationSection section) {
+    private void fromNodeTree(@NotNull MappingNode input, @NotNull ConfigurationSection section, @Nullable SharedSections shared, @Nullable Map<String, Map<String, ConfigurationSchema.Type>> schema) {
         constructor.flattenMapping(input);
+        // the expected types of the values of this section
+        Map<String, ConfigurationSchema.Type> types = schema == null || !(section instanceof MemorySection) ? null : schema.get(section.getCurrentPath());
         for (NodeTuple nodeTuple : input.getValue()) {
             Node key = nodeTuple.keyNode();
             String keyString = String.valueOf(constructor.construct(key));
@@ -204,9 +410,19 @@ public class YamlConfiguration extends FileConfiguration {
             }
 
             if (value instanceof MappingNode && !hasSerializedTypeKey((MappingNode) value)) {
-                fromNodeTree((MappingNode) value, section.createSection(keyString));
+                MemorySection template = shared == null ? null : shared.template((MappingNode) value);
+                if (template != null) {
+                    ((MemorySection) section).createSharedSection(keyString, template);
+                } else {
+                    fromNodeTree((MappingNode) value, createSection(section, keyString, (MappingNode) value), shared, schema);
+                }
             } else {
-                section.set(keyString, constructor.construct(value));
+                ConfigurationSchema.Type type = types == null ? null : types.get(keyString);
+                if (type == null || !(value instanceof ScalarNode scalar)) {
+                    section.set(keyString, constructor.construct(value));
+                } else if (!setPrimitive((MemorySection) section, keyString, scalar, type)) {
+                    setScalar((MemorySection) section, keyString, constructor.construct(value), type);
+                }
             }
 
             section.setComments(keyString, getCommentLines(key.getBlockComments()));
@@ -218,6 +434,122 @@ public class YamlConfiguration extends FileConfiguration {
         }
     }
 
+    /**
+     * Sets a scalar of the expected type straight from its text, without
+     * constructing an object. Only the values which are constructed exactly
+     * the same way are set (a parsed number, a plain decimal int, a decimal
+     * float and a boolean), the others are left to the constructor.
+     *
+     * @return true if the value is set
+     */
+    private static boolean setPrimitive(@NotNull MemorySection section, @NotNull String key, @NotNull ScalarNode node, @NotNull ConfigurationSchema.Type type) {
+        Tag tag = node.getTag();
+        if (type == ConfigurationSchema.Type.BOOLEAN) {
+            if (!Tag.BOOL.equals(tag)) {
+                return false;
+            }
+            String value = node.getValue();
+            if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("yes") || value.equalsIgnoreCase("on")) {
+                section.setBoolean(key, true);
+            } else if (value.equalsIgnoreCase("false") || value.equalsIgnoreCase("no") || value.equalsIgnoreCase("off")) {
+                section.setBoolean(key, false);
+            } else {
+                return false;
+            }
+            return true;
+        }
+        if (node instanceof ParsedScalarNode parsed) {
+            Number number = parsed.getNumber();
+            if (number instanceof Integer i) {
+                section.setInt(key, i);
+            } else if (number instanceof Long l) {
+                section.setLong(key, l);
+            } else if (number instanceof Double d) {
+                section.setDouble(key, d);
+            } else {
+                return false;
+            }
+            return true;
+        }
+        if (Tag.INT.equals(tag)) {
+            return setDecimal(section, key, node.getValue());
+        } else if (Tag.FLOAT.equals(tag)) {
+            String value = node.getValue();
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (!(c >= '0' && c <= '9') && c != '.' && c != '-' && c != '+' && c != 'e' && c != 'E') {
+                    // underscores, sexagesimal, .inf and .nan
+                    return false;
+                }
+            }
+            try {
+                section.setDouble(key, Double.parseDouble(value));
+            } catch (NumberFormatException e) {
+                return false;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Sets a plain decimal int as the constructor creates it: an Integer
+     * when it fits, a Long otherwise.
+     */
+    private static boolean setDecimal(@NotNull MemorySection section, @NotNull String key, @NotNull String value) {
+        int start = !value.isEmpty() && (value.charAt(0) == '-' || value.charAt(0) == '+') ? 1 : 0;
+        int digits = value.length() - start;
+        // a leading zero is octal, 19 digits may not fit a long
+        if (digits < 1 || digits > 18 || (value.charAt(start) == '0' && digits > 1)) {
+            return false;
+        }
+        long result = 0;
+        for (int i = start; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+            result = result * 10 + (c - '0');
+        }
+        if (value.charAt(0) == '-') {
+            result = -result;
+        }
+        if (result >= Integer.MIN_VALUE && result <= Integer.MAX_VALUE) {
+            section.setInt(key, (int) result);
+        } else {
+            section.setLong(key, result);
+        }
+        return true;
+    }
+
+    /**
+     * Sets a loaded scalar, unboxed when the schema expects its type. The
+     * value keeps the type it is loaded with.
+     */
+    private static void setScalar(@NotNull MemorySection section, @NotNull String key, @Nullable Object value, @Nullable ConfigurationSchema.Type type) {
+        if (type == null) {
+            section.set(key, value);
+        } else if (type.isNumber() && value instanceof Integer i) {
+            section.setInt(key, i);
+        } else if (type.isNumber() && value instanceof Long l) {
+            section.setLong(key, l);
+        } else if (type.isNumber() && value instanceof Double d) {
+            section.setDouble(key, d);
+        } else if (type == ConfigurationSchema.Type.BOOLEAN && value instanceof Boolean b) {
+            section.setBoolean(key, b);
+        } else {
+            section.set(key, value);
+        }
+    }
+
+    @NotNull
+    private static ConfigurationSection createSection(@NotNull ConfigurationSection section, @NotNull String key, @NotNull MappingNode node) {
+        if (section instanceof MemorySection memorySection) {
+            return memorySection.createSection(key, node.getValue().size());
+        }
+        return section.createSection(key);
+    }
+
     private boolean hasSerializedTypeKey(MappingNode node) {
         for (NodeTuple nodeTuple : node.getValue()) {
             Node keyNode = nodeTuple.keyNode();
@@ -331,4 +663,41 @@ public class YamlConfiguration extends FileConfiguration {
 
         return (YamlConfigurationOptions) options;
     }
+
+    /**
+     * The mapping nodes which occur more than once in the node tree (the
+     * aliases and the merged values) and their templates.
+     */
+    private final class SharedSections {
+        private final Map<Node, MemorySection> templates = new IdentityHashMap<>();
+        private final MemoryConfiguration root = new MemoryConfiguration();
+        private int count = 0;
+
+        private SharedSections(char pathSeparator) {
+            root.options().pathSeparator(pathSeparator).mapFactory(options().mapFactory());
+        }
+
+        /**
+         * Gets the template for a mapping node. The first occurrence is built
+         * as usual, the template is built on the second occurrence and then
+         * shared by all the following ones.
+         *
+         * @param node The mapping node
+         * @return The template or null for the first occurrence
+         */
+        @Nullable
+        private MemorySection template(@NotNull MappingNode node) {
+            if (!templates.containsKey(node)) {
+                templates.put(node, null);
+                return null;
+            }
+            MemorySection template = templates.get(node);
+            if (template == null) {
+                template = (MemorySection) root.createSection(String.valueOf(count++), node.getValue().size());
+                fromNodeTree(node, template, this, null);
+                templates.put(node, template);
+            }
+            return template;
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package com.mohistmc.yaml.file;
 
+import com.mohistmc.yaml.ConfigurationSchema;
+import com.mohistmc.yaml.SectionMapFactory;
 import com.mohistmc.yaml.YamlUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -14,6 +16,9 @@ import java.util.List;
 public class YamlConfigurationOptions extends FileConfigurationOptions {
     private int indent = 2;
     private int width = 80;
+    private boolean shareAliases = false;
+    private boolean fastResolver = false;
+    private ConfigurationSchema schema = null;
 
     protected YamlConfigurationOptions(@NotNull YamlConfiguration configuration) {
         super(configuration);
@@ -39,6 +44,13 @@ public class YamlConfigurationOptions extends FileConfigurationOptions {
         return this;
     }
 
+    @NotNull
+    @Override
+    public YamlConfigurationOptions mapFactory(@NotNull SectionMapFactory value) {
+        super.mapFactory(value);
+        return this;
+    }
+
     @NotNull
     @Override
     public YamlConfigurationOptions setHeader(@Nullable List<String> value) {
@@ -108,4 +120,90 @@ public class YamlConfigurationOptions extends FileConfigurationOptions {
         this.width = value;
         return this;
     }
+
+    /**
+     * Gets whether the sections which are repeated by YAML aliases (and merge
+     * keys) share their contents when loaded.
+     *
+     * @return Whether the repeated sections are shared
+     */
+    public boolean shareAliases() {
+        return shareAliases;
+    }
+
+    /**
+     * Sets whether the sections which are repeated by YAML aliases (and merge
+     * keys) share their contents when loaded.
+     * <p>
+     * When enabled, a repeated section is built only once and every other
+     * occurrence copies it only when it is accessed (see
+     * {@link com.mohistmc.yaml.MemorySection#createSharedSection(String,
+     * com.mohistmc.yaml.MemorySection)}). The load time and the memory are then
+     * proportional to the unique content of the file. The values which are
+     * not sections (such as lists) are shared between the occurrences in both
+     * modes.
+     *
+     * @param value Whether the repeated sections are shared
+     * @return This object, for chaining
+     */
+    @NotNull
+    public YamlConfigurationOptions shareAliases(boolean value) {
+        this.shareAliases = value;
+        return this;
+    }
+
+    /**
+     * Gets whether the scalars are resolved by the
+     * {@link com.mohistmc.snakeyaml.resolver.FastResolver}.
+     *
+     * @return Whether the FastResolver is used
+     */
+    public boolean fastResolver() {
+        return fastResolver;
+    }
+
+    /**
+     * Sets whether the scalars are resolved by the
+     * {@link com.mohistmc.snakeyaml.resolver.FastResolver} instead of the
+     * regular expressions of the default resolver.
+     * <p>
+     * The FastResolver resolves the same tags and parses the numbers while
+     * it resolves them, so the numeric values are not parsed twice. It is
+     * disabled by default and ignored when the core schema is used.
+     *
+     * @param value Whether the FastResolver is used
+     * @return This object, for chaining
+     */
+    @NotNull
+    public YamlConfigurationOptions fastResolver(boolean value) {
+        this.fastResolver = value;
+        return this;
+    }
+
+    /**
+     * Gets the schema of the values which are loaded unboxed.
+     *
+     * @return The schema, or null if none is used
+     */
+    @Nullable
+    public ConfigurationSchema schema() {
+        return schema;
+    }
+
+    /**
+     * Sets the schema of the values which are loaded unboxed.
+     * <p>
+     * The scalars loaded at the paths of the schema are kept in primitive
+     * slots (see {@link com.mohistmc.yaml.MemorySection#setInt(String, int)}),
+     * so the primitive getters read them without boxing. The sections shared
+     * by {@link #shareAliases(boolean)} are loaded as usual.
+     *
+     * @param value The schema, or null to load every value as an object
+     * @return This object, for chaining
+     */
+    @NotNull
+    public YamlConfigurationOptions schema(@Nullable ConfigurationSchema value) {
+        this.schema = value;
+        return this;
+    }
 }
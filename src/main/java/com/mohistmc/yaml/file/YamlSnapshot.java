@@ -0,0 +1,105 @@
+package com.mohistmc.yaml.file;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Precompiled form of a configuration file. The snapshot is stored next to
+ * the source as {@code <name>.snapshot} and contains the SHA-256 hashes of the
+ * source and of the events followed by the parsed events (see
+ * {@link com.mohistmc.snakeyaml.Yaml#writeEventLog}). A snapshot is used only
+ * while the hash matches the current contents of the source, so an edited
+ * file is always parsed again, and while the events are intact.
+ */
+final class YamlSnapshot {
+    private static final byte[] MAGIC = {'Y', 'C', 'S', 'N'};
+    private static final int VERSION = 2;
+    private static final int FLAG_COMMENTS = 1;
+    private static final int HASH_LENGTH = 32;
+
+    private YamlSnapshot() {
+    }
+
+    /**
+     * Gets the location of the snapshot of the given file.
+     *
+     * @param source The configuration file
+     * @return The snapshot file
+     */
+    @NotNull
+    static File snapshotFile(@NotNull File source) {
+        return new File(source.getPath() + ".snapshot");
+    }
+
+    /**
+     * Writes the snapshot.
+     *
+     * @param output   Stream to write to
+     * @param contents Raw contents of the source file
+     * @param comments Whether the events include the comments
+     * @param events   The event log of the source
+     * @throws IOException Thrown when the snapshot cannot be written
+     */
+    static void write(@NotNull OutputStream output, byte[] contents, boolean comments, byte[] events) throws IOException {
+        output.write(MAGIC);
+        output.write(VERSION);
+        output.write(comments ? FLAG_COMMENTS : 0);
+        output.write(hash(contents));
+        output.write(hash(events));
+        output.write(events);
+    }
+
+    /**
+     * Opens the snapshot of the given file if it was created from the same
+     * contents with the same comment setting and its events are intact.
+     *
+     * @param source   The configuration file
+     * @param contents Raw contents of the source file
+     * @param comments Whether the comments are required
+     * @return The event log or null if there is no up-to-date snapshot
+     * @throws IOException Thrown when the snapshot cannot be read
+     */
+    @Nullable
+    static InputStream open(@NotNull File source, byte[] contents, boolean comments) throws IOException {
+        File file = snapshotFile(source);
+        if (!file.isFile()) {
+            return null;
+        }
+        byte[] snapshot;
+        try (InputStream input = new FileInputStream(file)) {
+            snapshot = input.readAllBytes();
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+        int start = MAGIC.length + 2 + 2 * HASH_LENGTH;
+        boolean valid = snapshot.length >= start
+                && Arrays.equals(snapshot, 0, MAGIC.length, MAGIC, 0, MAGIC.length)
+                && snapshot[MAGIC.length] == VERSION
+                && snapshot[MAGIC.length + 1] == (comments ? FLAG_COMMENTS : 0)
+                && Arrays.equals(snapshot, MAGIC.length + 2, MAGIC.length + 2 + HASH_LENGTH,
+                hash(contents), 0, HASH_LENGTH)
+                && Arrays.equals(snapshot, MAGIC.length + 2 + HASH_LENGTH, start,
+                hash(Arrays.copyOfRange(snapshot, start, snapshot.length)), 0, HASH_LENGTH);
+        return valid ? new ByteArrayInputStream(snapshot, start, snapshot.length - start) : null;
+    }
+
+    private static byte[] hash(byte[] contents) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(contents);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
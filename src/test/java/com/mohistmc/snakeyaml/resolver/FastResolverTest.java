@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2008, SnakeYAML
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.mohistmc.snakeyaml.resolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.mohistmc.snakeyaml.DumperOptions;
+import com.mohistmc.snakeyaml.LoaderOptions;
+import com.mohistmc.snakeyaml.Yaml;
+import com.mohistmc.snakeyaml.constructor.SafeConstructor;
+import com.mohistmc.snakeyaml.nodes.NodeId;
+import com.mohistmc.snakeyaml.nodes.Tag;
+import com.mohistmc.snakeyaml.representer.Representer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link FastResolver} must resolve every scalar like the regular expressions of {@link Resolver}
+ */
+public class FastResolverTest {
+
+    private static final String[] WORDS = {"", " ", "~", "null", "Null", "NULL", "nULL", "nul", "true",
+            "True", "TRUE", "tRUE", "false", "yes", "Yes", "YES", "yEs", "no", "No", "NO", "on", "On", "ON",
+            "off", "Off", "OFF", "y", "n", "<<", "<", "<<<", "=", "!", "&", "*", ".inf", "-.Inf", "+.INF",
+            ".iNf", ".nan", ".NaN", ".NAN", "-.nan", "0", "-0", "+0", "00", "0_", "0b", "0b1", "0b_1", "0b2",
+            "0x", "0x_F", "0xg", "0o7", "017", "018", "08", "1_000", "_1", "1:30", "1:60", "-1:2:3",
+            "190:20:30.15", "1.", "1.e5", ".5", ".", "1e5", "1e", "1E+5", "1.5e-3", "9223372036854775807",
+            "9223372036854775808", "-9223372036854775808", "2147483647", "2147483648", "0x7fffffff",
+            "0x80000000", "2001-12-14", "2001-12-14t21:59:43.10-05:00", "2001-12-14 21:59:43.10 -5",
+            "2001-12-15T02:59:43.1Z", "2001-1-1 1:00:00", "2001-12-14 21:59:43 +05:", "2002-12-14x",
+            "12-12-12", "20011-12-14"};
+    private static final String ALPHABET = "0123456789+-._:eExXbBoOtTfFyYnNaAiIlLsuU~<=Z ";
+
+    private static List<String> corpus() {
+        List<String> values = new ArrayList<>();
+        Collections.addAll(values, WORDS);
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            int length = random.nextInt(14);
+            StringBuilder value = new StringBuilder(length);
+            for (int j = 0; j < length; j++) {
+                value.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            values.add(value.toString());
+        }
+        for (int i = 0; i < 20_000; i++) {
+            // mostly valid numbers and timestamps
+            String digits = Long.toString(random.nextLong() >>> random.nextInt(64));
+            switch (random.nextInt(6)) {
+                case 0 -> values.add(digits);
+                case 1 -> values.add("-" + digits.charAt(0) + "_" + digits.substring(1));
+                case 2 -> values.add(digits + "." + random.nextInt(1000) + "e" + (random.nextInt(40) - 20));
+                case 3 -> values.add("0x" + Long.toHexString(random.nextLong()));
+                case 4 -> values.add(digits.charAt(0) + ":" + random.nextInt(70) + ":" + random.nextInt(70));
+                default -> values.add(String.format("%04d-%02d-%02d %d:%02d:%02d.%d %+d:%02d",
+                        random.nextInt(10000), random.nextInt(13), random.nextInt(32), random.nextInt(24),
+                        random.nextInt(60), random.nextInt(60), random.nextInt(1000), random.nextInt(24) - 12,
+                        random.nextInt(60)));
+            }
+        }
+        // the length limits of the patterns
+        values.add("1".repeat(1024));
+        values.add("1".repeat(1025));
+        values.add("n".repeat(11));
+        return values;
+    }
+
+    private static Yaml yaml(Resolver resolver) {
+        LoaderOptions loaderOptions = new LoaderOptions();
+        DumperOptions dumperOptions = new DumperOptions();
+        return new Yaml(new SafeConstructor(loaderOptions), new Representer(dumperOptions), dumperOptions,
+                loaderOptions, resolver);
+    }
+
+    private static Object load(Yaml yaml, String value) {
+        try {
+            return yaml.load("[" + value + "]");
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+
+    @Test
+    public void resolvesLikeTheRegularExpressions() {
+        Resolver regex = new Resolver();
+        FastResolver fast = new FastResolver();
+        for (String value : corpus()) {
+            Tag expected = regex.resolve(NodeId.scalar, value, true);
+            assertEquals(expected, fast.resolve(NodeId.scalar, value, true), value);
+            assertEquals(expected, fast.resolveScalar(value, true).tag(), value);
+        }
+    }
+
+    @Test
+    public void constructsTheSameValues() {
+        Yaml regex = yaml(new Resolver());
+        Yaml fast = yaml(new FastResolver());
+        for (String value : corpus()) {
+            if (value.length() <= 20) {
+                assertEquals(load(regex, value), load(fast, value), value);
+            }
+        }
+    }
+}